@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.benchmark;
+
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jooq.repository.sample.UserRepository;
+import org.springframework.data.jooq.repository.support.JooqRepositoryFactory;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import sample.tables.pojos.Users;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An in-memory H2 database holding {@code size} users, shared by all benchmarks of a trial. The repository, the jOOQ
+ * and the JDBC benchmarks all work on the same data source, so their numbers differ only by the layer under test.
+ * It hands out a single connection whose close is suppressed, so no benchmark measures opening connections.
+ *
+ * @author Johannes Buehler
+ */
+@State(Scope.Benchmark)
+public class Database {
+
+    static final int PAGE_SIZE = 20;
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    private EmbeddedDatabase database;
+
+    SingleConnectionDataSource dataSource;
+    DSLContext dsl;
+    UserRepository repository;
+
+    List<Integer> ids;
+    List<Users> users;
+    Pageable page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("db/sql/create-db.sql")
+                .build();
+        dataSource = new SingleConnectionDataSource(database.getConnection(), true);
+        dsl = DSL.using(dataSource, SQLDialect.H2);
+        repository = new JooqRepositoryFactory(dsl).getRepository(UserRepository.class);
+
+        ids = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            ids.add(id);
+            users.add(new Users(id, "User " + id, "user" + id + "@example.com"));
+        }
+        insert(users);
+        page = new PageRequest(size / PAGE_SIZE / 2, PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+        database.shutdown();
+    }
+
+    int id(int invocation) {
+        return invocation % size + 1;
+    }
+
+    void insert(List<Users> users) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("insert into users (id, name, email) values (?, ?, ?)")) {
+            for (Users user : users) {
+                statement.setInt(1, user.getId());
+                statement.setString(2, user.getName());
+                statement.setString(3, user.getEmail());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.tables.pojos.Users;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts {@code size} additional users before every invocation of a delete benchmark, outside of the measured time.
+ *
+ * @author Johannes Buehler
+ */
+@State(Scope.Thread)
+public class Deletable {
+
+    private static final int FIRST_ID = 1000000;
+
+    Database database;
+    List<Integer> ids;
+    List<Users> users;
+
+    @Setup(Level.Invocation)
+    public void insert(Database database) throws SQLException {
+        if (users == null) {
+            this.database = database;
+            ids = new ArrayList<>(database.size);
+            users = new ArrayList<>(database.size);
+            for (int id = FIRST_ID; id < FIRST_ID + database.size; id++) {
+                ids.add(id);
+                users.add(new Users(id, "Deletable " + id, "deletable" + id + "@example.com"));
+            }
+        }
+        database.insert(users);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import sample.tables.pojos.Users;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline benchmarks issuing the statements of {@link RepositoryBenchmarks} with plain JDBC and hand-written mapping.
+ *
+ * @author Johannes Buehler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcBenchmarks {
+
+    private static final String SELECT = "select id, name, email from users";
+
+    private int invocation;
+
+    @Benchmark
+    public Users findOne(Database database) throws SQLException {
+        try (Connection connection = database.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT + " where id = ?")) {
+            statement.setInt(1, database.id(invocation++));
+            List<Users> users = map(statement);
+            return users.isEmpty() ? null : users.get(0);
+        }
+    }
+
+    @Benchmark
+    public List<Users> findAll(Database database) throws SQLException {
+        try (Connection connection = database.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            return map(statement);
+        }
+    }
+
+    @Benchmark
+    public Page<Users> findAllPageable(Database database) throws SQLException {
+        try (Connection connection = database.dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT + " limit ? offset ?");
+             PreparedStatement count = connection.prepareStatement("select count(*) from users")) {
+            select.setInt(1, database.page.getPageSize());
+            select.setInt(2, database.page.getOffset());
+            List<Users> content = map(select);
+            try (ResultSet resultSet = count.executeQuery()) {
+                resultSet.next();
+                return new PageImpl<>(content, database.page, resultSet.getLong(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Users> findAllIterable(Database database) throws SQLException {
+        StringBuilder sql = new StringBuilder(SELECT).append(" where id in (");
+        for (int i = 0; i < database.ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        try (Connection connection = database.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < database.ids.size(); i++) {
+                statement.setInt(i + 1, database.ids.get(i));
+            }
+            return map(statement);
+        }
+    }
+
+    @Benchmark
+    public int save(Database database) throws SQLException {
+        Users user = database.users.get(database.id(invocation++) - 1);
+        try (Connection connection = database.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("update users set name = ?, email = ? where id = ?")) {
+            bind(statement, user);
+            return statement.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public int[] saveIterable(Database database) throws SQLException {
+        try (Connection connection = database.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("update users set name = ?, email = ? where id = ?")) {
+            for (Users user : database.users) {
+                bind(statement, user);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        }
+    }
+
+    @Benchmark
+    public int[] deleteIterable(Deletable deletable) throws SQLException {
+        try (Connection connection = deletable.database.dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("delete from users where id = ?")) {
+            for (Integer id : deletable.ids) {
+                statement.setInt(1, id);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        }
+    }
+
+    private static List<Users> map(PreparedStatement statement) throws SQLException {
+        List<Users> users = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                users.add(new Users(resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3)));
+            }
+        }
+        return users;
+    }
+
+    private static void bind(PreparedStatement statement, Users user) throws SQLException {
+        statement.setString(1, user.getName());
+        statement.setString(2, user.getEmail());
+        statement.setInt(3, user.getId());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import sample.tables.pojos.Users;
+import sample.tables.records.UsersRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static sample.Tables.USERS;
+
+/**
+ * Baseline benchmarks issuing the statements of {@link RepositoryBenchmarks} with hand-written jOOQ queries.
+ *
+ * @author Johannes Buehler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JooqBenchmarks {
+
+    private int invocation;
+
+    @Benchmark
+    public Users findOne(Database database) {
+        return database.dsl.selectFrom(USERS).where(USERS.ID.eq(database.id(invocation++))).fetchOneInto(Users.class);
+    }
+
+    @Benchmark
+    public List<Users> findAll(Database database) {
+        return database.dsl.selectFrom(USERS).fetchInto(Users.class);
+    }
+
+    @Benchmark
+    public Page<Users> findAllPageable(Database database) {
+        List<Users> content = database.dsl.selectFrom(USERS)
+                .limit(database.page.getPageSize())
+                .offset(database.page.getOffset())
+                .fetchInto(Users.class);
+        return new PageImpl<>(content, database.page, database.dsl.fetchCount(USERS));
+    }
+
+    @Benchmark
+    public List<Users> findAllIterable(Database database) {
+        return database.dsl.selectFrom(USERS).where(USERS.ID.in(database.ids)).fetchInto(Users.class);
+    }
+
+    @Benchmark
+    public int save(Database database) {
+        Users user = database.users.get(database.id(invocation++) - 1);
+        return database.dsl.executeUpdate(database.dsl.newRecord(USERS, user));
+    }
+
+    @Benchmark
+    public int[] saveIterable(Database database) {
+        List<UsersRecord> records = new ArrayList<>(database.users.size());
+        for (Users user : database.users) {
+            records.add(database.dsl.newRecord(USERS, user));
+        }
+        return database.dsl.batchUpdate(records).execute();
+    }
+
+    @Benchmark
+    public int deleteIterable(Deletable deletable) {
+        return deletable.database.dsl.deleteFrom(USERS).where(USERS.ID.in(deletable.ids)).execute();
+    }
+}
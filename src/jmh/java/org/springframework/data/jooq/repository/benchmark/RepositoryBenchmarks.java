@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jooq.repository.JooqRepository;
+import sample.tables.pojos.Users;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link JooqRepository} methods, to be compared with {@link JooqBenchmarks} and
+ * {@link JdbcBenchmarks} of the same name.
+ *
+ * @author Johannes Buehler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmarks {
+
+    private int invocation;
+
+    @Benchmark
+    public Users findOne(Database database) {
+        return database.repository.findOne(database.id(invocation++));
+    }
+
+    @Benchmark
+    public List<Users> findAll(Database database) {
+        return database.repository.findAll();
+    }
+
+    @Benchmark
+    public Page<Users> findAllPageable(Database database) {
+        return database.repository.findAll(database.page);
+    }
+
+    @Benchmark
+    public List<Users> findAllIterable(Database database) {
+        return database.repository.findAll(database.ids);
+    }
+
+    @Benchmark
+    public Users save(Database database) {
+        return database.repository.save(database.users.get(database.id(invocation++) - 1));
+    }
+
+    @Benchmark
+    public List<Users> saveIterable(Database database) {
+        return database.repository.save(database.users);
+    }
+
+    @Benchmark
+    public void deleteIterable(Deletable deletable) {
+        deletable.database.repository.delete(deletable.users);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of {@link JooqRepository}. Every method runs on the executor configured through
+ * {@link org.springframework.data.jooq.repository.config.EnableJooqRepositories#asyncExecutorRef()} and completes the
+ * returned {@link CompletableFuture} with the result or the exception thrown.
+ * <p>
+ * JDBC connections are bound to the thread running a transaction, so every call runs in a transaction of its own on
+ * the executor thread. A transaction active on the calling thread is neither joined nor suspended.
+ *
+ * @author Johannes Buehler
+ */
+@NoRepositoryBean
+public interface AsyncJooqRepository<T, ID extends Serializable> extends Repository<T, ID> {
+
+    /**
+     * @see JooqRepository#findOne(Serializable)
+     */
+    CompletableFuture<T> findOne(ID id);
+
+    /**
+     * @see JooqRepository#exists(Serializable)
+     */
+    CompletableFuture<Boolean> exists(ID id);
+
+    /**
+     * @see JooqRepository#findAll()
+     */
+    CompletableFuture<List<T>> findAll();
+
+    /**
+     * @see JooqRepository#findAll(Sort)
+     */
+    CompletableFuture<List<T>> findAll(Sort sort);
+
+    /**
+     * @see JooqRepository#findAll(Iterable)
+     */
+    CompletableFuture<List<T>> findAll(Iterable<ID> ids);
+
+    /**
+     * @see JooqRepository#findAllInIdOrder(Iterable)
+     */
+    CompletableFuture<List<T>> findAllInIdOrder(Iterable<ID> ids);
+
+    /**
+     * @see JooqRepository#findAll(Pageable)
+     */
+    CompletableFuture<Page<T>> findAll(Pageable pageable);
+
+    /**
+     * @see JooqRepository#findSlice(Pageable)
+     */
+    CompletableFuture<Slice<T>> findSlice(Pageable pageable);
+
+    /**
+     * @see JooqRepository#findAll(SeekRequest)
+     */
+    CompletableFuture<SeekSlice<T>> findAll(SeekRequest request);
+
+    /**
+     * @see JooqRepository#count()
+     */
+    CompletableFuture<Long> count();
+
+    /**
+     * @see JooqRepository#save(Object)
+     */
+    <S extends T> CompletableFuture<S> save(S entity);
+
+    /**
+     * @see JooqRepository#save(Iterable)
+     */
+    <S extends T> CompletableFuture<List<S>> save(Iterable<S> entities);
+
+    /**
+     * @see JooqRepository#delete(Serializable)
+     */
+    CompletableFuture<Void> delete(ID id);
+
+    /**
+     * @see JooqRepository#delete(Object)
+     */
+    CompletableFuture<Void> delete(T entity);
+
+    /**
+     * @see JooqRepository#delete(Iterable)
+     */
+    CompletableFuture<Void> delete(Iterable<? extends T> entities);
+
+    /**
+     * @see JooqRepository#deleteAll()
+     */
+    CompletableFuture<Void> deleteAll();
+
+}
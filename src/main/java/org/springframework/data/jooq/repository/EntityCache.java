@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables a second-level cache of entities by ID for the annotated {@link JooqRepository}. {@code findOne},
+ * {@code exists} and {@code findAll(Iterable)} are served from the cache and only query the IDs missing from it.
+ * Saved and deleted entities are evicted when the surrounding transaction commits, derived {@code deleteBy} queries,
+ * {@code deleteAll()}, purges and loads clear the whole cache. Hits and misses are reported by
+ * {@link JooqRepository#getEntityCacheStatistics()}.
+ * <p>
+ * The cache belongs to the repository, so changes made through other repositories or outside of the repository are
+ * only picked up once the entries expire.
+ * </p>
+ *
+ * @author Johannes Buehler
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EntityCache {
+
+	/**
+	 * The specification of the cache's size and expiry in the format of Guava's
+	 * {@link com.google.common.cache.CacheBuilderSpec}, e.g. {@code maximumSize=10000,expireAfterWrite=10m}.
+	 *
+	 * @return
+	 */
+	String value() default "maximumSize=10000,expireAfterWrite=10m";
+}
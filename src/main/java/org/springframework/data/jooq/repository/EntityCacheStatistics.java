@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+/**
+ * Hit and miss statistics of the {@link EntityCache} of a repository since it was created.
+ *
+ * @author Johannes Buehler
+ * @see JooqRepository#getEntityCacheStatistics()
+ */
+public class EntityCacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+
+    /**
+     * Creates a new {@link EntityCacheStatistics}.
+     *
+     * @param hits the number of lookups served from the cache.
+     * @param misses the number of lookups which had to query the database.
+     * @param evictions the number of entries removed because of the cache's size or expiry.
+     * @param size the approximate number of entries cached.
+     */
+    public EntityCacheStatistics(long hits, long misses, long evictions, long size) {
+
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the ratio of lookups served from the cache.
+     *
+     * @return the hit rate, {@literal 1.0} if there have been no lookups yet.
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 1.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Entity cache statistics [hits: %d, misses: %d, evictions: %d, size: %d]",
+                hits, misses, evictions, size);
+    }
+}
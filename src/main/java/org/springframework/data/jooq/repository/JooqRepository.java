@@ -1,13 +1,21 @@
 package org.springframework.data.jooq.repository;
 
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.io.Serializable;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * JPA specific extension of {@link org.springframework.data.repository.Repository}.
@@ -15,7 +23,7 @@ import java.util.List;
  * @author Johannes Buehler
  */
 @NoRepositoryBean
-public interface JooqRepository<T, ID extends Serializable> extends PagingAndSortingRepository<T, ID> {
+public interface JooqRepository<T, ID extends Serializable> extends PagingAndSortingRepository<T, ID>, QueryByExampleExecutor<T> {
 
     /*
      * (non-Javadoc)
@@ -35,4 +43,211 @@ public interface JooqRepository<T, ID extends Serializable> extends PagingAndSor
      */
     List<T> findAll(Iterable<ID> ids);
 
+    /**
+     * Returns all entities with the given IDs in the order of the given IDs. IDs without an entity are skipped.
+     *
+     * @param ids
+     * @return the entities found, in the order of their IDs.
+     */
+    List<T> findAllInIdOrder(Iterable<ID> ids);
+
+    /**
+     * Returns which of the given IDs exist, looking them up in as few queries as possible rather than one by one.
+     *
+     * @param ids
+     * @return the existing IDs, in the order of the given IDs.
+     */
+    Set<ID> existing(Iterable<ID> ids);
+
+    /**
+     * Returns a {@link Slice} of entities meeting the paging restriction. Unlike
+     * {@link #findAll(org.springframework.data.domain.Pageable)} no count is issued: one additional row is fetched to
+     * find out whether there's a next slice.
+     *
+     * @param pageable must not be {@literal null}.
+     * @return a slice of entities
+     */
+    Slice<T> findSlice(Pageable pageable);
+
+    /**
+     * Returns the entity with the given ID as a projection of the given type, selecting only the columns of the
+     * projected properties. The type can be an interface declaring a subset of the entity's getters or a DTO whose
+     * constructor parameters, or setters if it has a no-argument constructor, are named after entity properties.
+     *
+     * @param id must not be {@literal null}.
+     * @param type must not be {@literal null}.
+     * @return the projection or {@literal null} if none found.
+     */
+    <P> P findOne(ID id, Class<P> type);
+
+    /**
+     * Returns all entities as projections of the given type.
+     *
+     * @param type must not be {@literal null}.
+     * @return all projections
+     * @see #findOne(Serializable, Class)
+     */
+    <P> List<P> findAll(Class<P> type);
+
+    /**
+     * Returns all entities sorted by the given options as projections of the given type.
+     *
+     * @param sort
+     * @param type must not be {@literal null}.
+     * @return all projections
+     * @see #findOne(Serializable, Class)
+     */
+    <P> List<P> findAll(Sort sort, Class<P> type);
+
+    /**
+     * Returns all entities with the given IDs as projections of the given type.
+     *
+     * @param ids
+     * @param type must not be {@literal null}.
+     * @return the projections found
+     * @see #findOne(Serializable, Class)
+     */
+    <P> List<P> findAll(Iterable<ID> ids, Class<P> type);
+
+    /**
+     * Returns a {@link Page} of projections of the given type meeting the paging restriction.
+     *
+     * @param pageable
+     * @param type must not be {@literal null}.
+     * @return a page of projections
+     * @see #findOne(Serializable, Class)
+     */
+    <P> Page<P> findAll(Pageable pageable, Class<P> type);
+
+    /**
+     * Returns a {@link Slice} of projections of the given type meeting the paging restriction.
+     *
+     * @param pageable must not be {@literal null}.
+     * @param type must not be {@literal null}.
+     * @return a slice of projections
+     * @see #findSlice(Pageable)
+     * @see #findOne(Serializable, Class)
+     */
+    <P> Slice<P> findSlice(Pageable pageable, Class<P> type);
+
+    /**
+     * Returns a {@link SeekSlice} of entities using keyset pagination. Rather than skipping an offset, the query seeks
+     * past the last key of the previous slice, so deep slices cost the same as the first one. The primary key is used
+     * as a tie-breaker after the requested sort. NULLs in nullable sort columns follow the order's
+     * {@link org.springframework.data.domain.Sort.NullHandling}, where {@code NATIVE} sorts them as the largest value.
+     *
+     * @param request must not be {@literal null}.
+     * @throws IllegalArgumentException if a sort property doesn't map to a column.
+     * @return a slice of entities and the key to continue from.
+     */
+    SeekSlice<T> findAll(SeekRequest request);
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.CrudRepository#save(java.lang.Iterable)
+     */
+    <S extends T> List<S> save(Iterable<S> entities);
+
+    /**
+     * Returns the hit and miss statistics of the {@link EntityCache} of the repository.
+     *
+     * @return the statistics or {@literal null} if the repository isn't cached.
+     */
+    EntityCacheStatistics getEntityCacheStatistics();
+
+    /**
+     * Executes the writes queued in the write-behind buffer of the current transaction, if the repository has one.
+     * Needed before statements executed outside of the repositories read their rows.
+     *
+     * @see org.springframework.data.jooq.repository.support.WriteBehindBuffer
+     */
+    void flush();
+
+    /**
+     * Deletes all entities matching the condition of the given request in chunks of consecutive primary keys. Every
+     * chunk is deleted and committed in a transaction of its own, so an interrupted purge keeps the chunks deleted so
+     * far. Must not be called within a surrounding transaction that is expected to include the deletes.
+     *
+     * @param request must not be {@literal null}.
+     * @return the final progress of the purge.
+     */
+    PurgeProgress purge(PurgeRequest request);
+
+    /**
+     * Inserts the given entities through jOOQ's {@link org.jooq.Loader}, converting them to records only as they are
+     * loaded. Outside a surrounding transaction the load commits after every
+     * {@link LoadOptions#getCommitSize() commit size} batches, so an aborted load keeps the rows committed so far.
+     * Within a surrounding transaction the rows are committed or rolled back with it.
+     *
+     * @param entities must not be {@literal null}.
+     * @param options must not be {@literal null}.
+     * @return the numbers of rows processed, stored, ignored and failed.
+     */
+    LoadResult load(Iterator<? extends T> entities, LoadOptions options);
+
+    /**
+     * Loads CSV rows separated by commas and quoted with double quotes. The header row names the entity property or
+     * column of each value, columns matching neither are skipped.
+     *
+     * @param csv must not be {@literal null}.
+     * @param options must not be {@literal null}.
+     * @return the numbers of rows processed, stored, ignored and failed.
+     * @throws IOException if the CSV cannot be read.
+     * @see #load(Iterator, LoadOptions)
+     */
+    LoadResult loadCsv(Reader csv, LoadOptions options) throws IOException;
+
+    /**
+     * Loads JSON in the format written by {@link org.jooq.Result#formatJSON()}, whose field names name the entity
+     * property or column of each value.
+     *
+     * @param json must not be {@literal null}.
+     * @param options must not be {@literal null}.
+     * @return the numbers of rows processed, stored, ignored and failed.
+     * @throws IOException if the JSON cannot be read.
+     * @see #load(Iterator, LoadOptions)
+     */
+    LoadResult loadJson(Reader json, LoadOptions options) throws IOException;
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.QueryByExampleExecutor#findAll(org.springframework.data.domain.Example)
+     */
+    @Override
+    <S extends T> List<S> findAll(Example<S> example);
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.QueryByExampleExecutor#findAll(org.springframework.data.domain.Example, org.springframework.data.domain.Sort)
+     */
+    @Override
+    <S extends T> List<S> findAll(Example<S> example, Sort sort);
+
+    /**
+     * Returns all entities as a {@link Stream} backed by an open JDBC cursor. Rows are read and mapped as the stream
+     * is consumed. Must be called within a surrounding transaction and the stream has to be closed after use, e.g. in
+     * a try-with-resources block.
+     *
+     * @return a lazily mapped stream of all entities.
+     */
+    Stream<T> streamAll();
+
+    /**
+     * Returns all entities sorted by the given options as a {@link Stream} backed by an open JDBC cursor.
+     *
+     * @param sort
+     * @return a lazily mapped stream of all entities.
+     * @see #streamAll()
+     */
+    Stream<T> streamAll(Sort sort);
+
+    /**
+     * Returns all entities with the given IDs as a {@link Stream} backed by an open JDBC cursor.
+     *
+     * @param ids
+     * @return a lazily mapped stream of the entities found.
+     * @see #streamAll()
+     */
+    Stream<T> streamAll(Iterable<ID> ids);
+
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import org.springframework.util.Assert;
+
+/**
+ * Options of a bulk load through jOOQ's {@link org.jooq.Loader}. Rows are streamed from the source, grouped into
+ * multi-row inserts, JDBC batches and commits, so a load of millions of rows never holds more than a commit's worth of
+ * rows, locks and undo.
+ *
+ * @author Johannes Buehler
+ * @see JooqRepository#load(java.util.Iterator, LoadOptions)
+ */
+public class LoadOptions {
+
+    /**
+     * The default number of rows per multi-row insert.
+     */
+    public static final int DEFAULT_BULK_SIZE = 100;
+
+    /**
+     * The default number of inserts per JDBC batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 10;
+
+    /**
+     * The default number of batches per commit.
+     */
+    public static final int DEFAULT_COMMIT_SIZE = 10;
+
+    /**
+     * How rows whose primary or unique key already exists are handled.
+     */
+    public enum OnDuplicate {
+
+        /**
+         * The row fails, like any other constraint violation.
+         */
+        FAIL,
+
+        /**
+         * The row is skipped and counted as ignored.
+         */
+        IGNORE,
+
+        /**
+         * The existing row is updated with the loaded values.
+         */
+        UPDATE
+    }
+
+    private final OnDuplicate onDuplicate;
+    private final boolean continueOnError;
+    private final int bulkSize;
+    private final int batchSize;
+    private final int commitSize;
+
+    /**
+     * Creates new {@link LoadOptions} using the default sizes, failing on duplicate keys and aborting on the first
+     * error.
+     */
+    public LoadOptions() {
+        this(OnDuplicate.FAIL, false, DEFAULT_BULK_SIZE, DEFAULT_BATCH_SIZE, DEFAULT_COMMIT_SIZE);
+    }
+
+    private LoadOptions(OnDuplicate onDuplicate, boolean continueOnError, int bulkSize, int batchSize, int commitSize) {
+
+        Assert.notNull(onDuplicate, "Duplicate handling must not be null!");
+        Assert.isTrue(bulkSize > 0, "Bulk size must be greater than zero!");
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+        Assert.isTrue(commitSize >= 0, "Commit size must not be negative!");
+
+        this.onDuplicate = onDuplicate;
+        this.continueOnError = continueOnError;
+        this.bulkSize = bulkSize;
+        this.batchSize = batchSize;
+        this.commitSize = commitSize;
+    }
+
+    /**
+     * Returns a copy of these options handling duplicate keys as given. jOOQ cannot detect duplicates within
+     * multi-row inserts, so unless duplicates {@link OnDuplicate#FAIL fail} every row is inserted by a statement of
+     * its own. Ignored duplicates are counted per statement, so {@link OnDuplicate#IGNORE} also executes every
+     * statement on its own and only the commit size applies.
+     *
+     * @param onDuplicate must not be {@literal null}.
+     * @return
+     */
+    public LoadOptions withOnDuplicate(OnDuplicate onDuplicate) {
+        return new LoadOptions(onDuplicate, continueOnError, bulkSize, batchSize, commitSize);
+    }
+
+    /**
+     * Returns a copy of these options that skip failing rows and report them in the {@link LoadResult} rather than
+     * aborting the load.
+     *
+     * @param continueOnError
+     * @return
+     */
+    public LoadOptions withContinueOnError(boolean continueOnError) {
+        return new LoadOptions(onDuplicate, continueOnError, bulkSize, batchSize, commitSize);
+    }
+
+    /**
+     * Returns a copy of these options inserting the given number of rows per statement.
+     *
+     * @param bulkSize must be greater than zero.
+     * @return
+     */
+    public LoadOptions withBulkSize(int bulkSize) {
+        return new LoadOptions(onDuplicate, continueOnError, bulkSize, batchSize, commitSize);
+    }
+
+    /**
+     * Returns a copy of these options sending the given number of statements per JDBC batch.
+     *
+     * @param batchSize must be greater than zero.
+     * @return
+     */
+    public LoadOptions withBatchSize(int batchSize) {
+        return new LoadOptions(onDuplicate, continueOnError, bulkSize, batchSize, commitSize);
+    }
+
+    /**
+     * Returns a copy of these options committing after the given number of batches, or only once at the end if zero.
+     * Ignored within a surrounding transaction, which commits the whole load.
+     *
+     * @param commitSize must not be negative.
+     * @return
+     */
+    public LoadOptions withCommitSize(int commitSize) {
+        return new LoadOptions(onDuplicate, continueOnError, bulkSize, batchSize, commitSize);
+    }
+
+    public OnDuplicate getOnDuplicate() {
+        return onDuplicate;
+    }
+
+    public boolean isContinueOnError() {
+        return continueOnError;
+    }
+
+    public int getBulkSize() {
+        return bulkSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCommitSize() {
+        return commitSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Load options [on duplicate: %s, continue on error: %s, bulk: %d, batch: %d, commit: %d]",
+                onDuplicate, continueOnError, bulkSize, batchSize, commitSize);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import org.jooq.LoaderError;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk load.
+ *
+ * @author Johannes Buehler
+ * @see JooqRepository#load(java.util.Iterator, LoadOptions)
+ */
+public class LoadResult {
+
+    private final int processed;
+    private final int stored;
+    private final int ignored;
+    private final List<LoaderError> errors;
+
+    /**
+     * Creates a new {@link LoadResult}.
+     *
+     * @param processed the number of rows read from the source.
+     * @param stored the number of rows inserted or updated.
+     * @param ignored the number of rows skipped as duplicates or because they failed.
+     * @param errors the errors of the failed rows, must not be {@literal null}.
+     */
+    public LoadResult(int processed, int stored, int ignored, List<LoaderError> errors) {
+
+        this.processed = processed;
+        this.stored = stored;
+        this.ignored = ignored;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getStored() {
+        return stored;
+    }
+
+    public int getIgnored() {
+        return ignored;
+    }
+
+    /**
+     * Returns the number of rows that failed.
+     *
+     * @return
+     */
+    public int getFailed() {
+        return errors.size();
+    }
+
+    /**
+     * Returns the errors of the failed rows, each with the index and values of its row.
+     *
+     * @return
+     */
+    public List<LoaderError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Load result [processed: %d, stored: %d, ignored: %d, failed: %d]", processed, stored,
+                ignored, errors.size());
+    }
+}
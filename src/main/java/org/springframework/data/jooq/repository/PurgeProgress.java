@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import java.util.Arrays;
+
+/**
+ * Progress of a purge, reported after every chunk and returned once the purge is finished.
+ *
+ * @author Johannes Buehler
+ * @see JooqRepository#purge(PurgeRequest)
+ */
+public class PurgeProgress {
+
+    private final int chunks;
+    private final long deleted;
+    private final long elapsedMillis;
+    private final Object[] lastKey;
+    private final boolean done;
+
+    /**
+     * Creates a new {@link PurgeProgress}.
+     *
+     * @param chunks the number of chunks deleted so far.
+     * @param deleted the number of rows deleted so far.
+     * @param elapsedMillis the time since the purge started.
+     * @param lastKey the primary key of the last row of the last chunk, {@literal null} if unknown.
+     * @param done whether no matching rows are left.
+     */
+    public PurgeProgress(int chunks, long deleted, long elapsedMillis, Object[] lastKey, boolean done) {
+
+        this.chunks = chunks;
+        this.deleted = deleted;
+        this.elapsedMillis = elapsedMillis;
+        this.lastKey = lastKey;
+        this.done = done;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Returns the primary key up to which the matching rows have been deleted.
+     *
+     * @return the key or {@literal null} if unknown.
+     */
+    public Object[] getLastKey() {
+        return lastKey == null ? null : lastKey.clone();
+    }
+
+    /**
+     * Returns whether the purge has finished, as opposed to having been interrupted.
+     *
+     * @return
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Purge progress [chunks: %d, deleted: %d, elapsed: %d ms, last key: %s, done: %s]",
+                chunks, deleted, elapsedMillis, Arrays.toString(lastKey), done);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import org.jooq.Condition;
+import org.jooq.impl.DSL;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Request to delete all entities matching a condition in chunks. The rows are deleted in primary key order, one
+ * chunk per transaction, so a purge of millions of rows never holds more than a chunk's worth of locks and undo.
+ *
+ * @author Johannes Buehler
+ * @see JooqRepository#purge(PurgeRequest)
+ */
+public class PurgeRequest {
+
+    /**
+     * The default maximum number of rows deleted per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final Condition condition;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Consumer<PurgeProgress> listener;
+
+    /**
+     * Creates a new {@link PurgeRequest} deleting all entities matching the given condition in chunks of
+     * {@link #DEFAULT_CHUNK_SIZE} without pausing in between.
+     *
+     * @param condition must not be {@literal null}.
+     */
+    public PurgeRequest(Condition condition) {
+        this(condition, DEFAULT_CHUNK_SIZE, 0, null);
+    }
+
+    private PurgeRequest(Condition condition, int chunkSize, long pauseMillis, Consumer<PurgeProgress> listener) {
+
+        Assert.notNull(condition, "Condition must not be null!");
+        Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+        Assert.isTrue(pauseMillis >= 0, "Pause must not be negative!");
+
+        this.condition = condition;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns a {@link PurgeRequest} deleting all entities.
+     *
+     * @return
+     */
+    public static PurgeRequest all() {
+        return new PurgeRequest(DSL.trueCondition());
+    }
+
+    /**
+     * Returns a copy of this request deleting at most the given number of rows per chunk.
+     *
+     * @param chunkSize must be greater than zero.
+     * @return
+     */
+    public PurgeRequest withChunkSize(int chunkSize) {
+        return new PurgeRequest(condition, chunkSize, pauseMillis, listener);
+    }
+
+    /**
+     * Returns a copy of this request pausing for the given time after every chunk, e.g. to give replicas time to
+     * catch up.
+     *
+     * @param pause must not be negative.
+     * @param unit must not be {@literal null}.
+     * @return
+     */
+    public PurgeRequest withPause(long pause, TimeUnit unit) {
+
+        Assert.notNull(unit, "Time unit must not be null!");
+        return new PurgeRequest(condition, chunkSize, unit.toMillis(pause), listener);
+    }
+
+    /**
+     * Returns a copy of this request reporting the progress to the given listener after every chunk.
+     *
+     * @param listener can be {@literal null}.
+     * @return
+     */
+    public PurgeRequest withProgressListener(Consumer<PurgeProgress> listener) {
+        return new PurgeRequest(condition, chunkSize, pauseMillis, listener);
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    public Consumer<PurgeProgress> getProgressListener() {
+        return listener;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Purge request [condition: %s, chunk size: %d, pause: %d ms]", condition, chunkSize,
+                pauseMillis);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+import java.io.Serializable;
+
+/**
+ * Reactive counterpart of the finders of {@link JooqRepository}. Every {@link Publisher} returned reads its rows from a
+ * JDBC cursor opened upon the first request of its subscriber, and only reads as many rows as requested. The blocking
+ * reads run on the executor configured through
+ * {@link org.springframework.data.jooq.repository.config.EnableJooqRepositories#reactiveExecutorRef()}.
+ * <p>
+ * The cursor holds a connection of its own until all rows have been emitted, the subscription is cancelled or an
+ * error occurs. It reads in a read-only transaction of its own with auto-commit disabled, so the fetch size applies
+ * on drivers which ignore it in auto-commit mode, and does not participate in any transaction of the subscribing
+ * thread.
+ *
+ * @author Johannes Buehler
+ */
+@NoRepositoryBean
+public interface ReactiveJooqRepository<T, ID extends Serializable> extends Repository<T, ID> {
+
+    /**
+     * @see JooqRepository#findOne(Serializable)
+     */
+    Publisher<T> findOne(ID id);
+
+    /**
+     * @see JooqRepository#exists(Serializable)
+     */
+    Publisher<Boolean> exists(ID id);
+
+    /**
+     * @see JooqRepository#streamAll()
+     */
+    Publisher<T> findAll();
+
+    /**
+     * @see JooqRepository#streamAll(Sort)
+     */
+    Publisher<T> findAll(Sort sort);
+
+    /**
+     * @see JooqRepository#streamAll(Iterable)
+     */
+    Publisher<T> findAll(Iterable<ID> ids);
+
+    /**
+     * @see JooqRepository#count()
+     */
+    Publisher<Long> count();
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Request for a slice of entities using keyset (seek) pagination. Instead of an offset it carries the sort key of the
+ * last entity seen, so the database can seek directly to the next page.
+ *
+ * @author Johannes Buehler
+ * @see JooqRepository#findAll(SeekRequest)
+ */
+public class SeekRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int page;
+    private final int size;
+    private final Sort sort;
+    private final Object[] lastKey;
+
+    /**
+     * Creates a new {@link SeekRequest} for the first slice ordered by the primary key.
+     *
+     * @param size the size of the slice to be returned, must be greater than zero.
+     */
+    public SeekRequest(int size) {
+        this(size, null);
+    }
+
+    /**
+     * Creates a new {@link SeekRequest} for the first slice. The primary key is appended to the given sort as a
+     * tie-breaker.
+     *
+     * @param size the size of the slice to be returned, must be greater than zero.
+     * @param sort can be {@literal null}.
+     */
+    public SeekRequest(int size, Sort sort) {
+        this(0, size, sort, null);
+    }
+
+    private SeekRequest(int page, int size, Sort sort, Object[] lastKey) {
+
+        Assert.isTrue(size > 0, "Page size must be greater than zero!");
+
+        this.page = page;
+        this.size = size;
+        this.sort = sort;
+        this.lastKey = lastKey;
+    }
+
+    /**
+     * Returns a {@link SeekRequest} for the slice following the entity with the given key.
+     *
+     * @param lastKey the continuation token as returned by {@link SeekSlice#getLastKey()}, must not be {@literal null}.
+     * @return
+     */
+    public SeekRequest after(Object... lastKey) {
+
+        Assert.notNull(lastKey, "Last key must not be null!");
+        return new SeekRequest(page + 1, size, sort, lastKey.clone());
+    }
+
+    public int getPageNumber() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return size;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * Returns the sort key of the last entity of the previous slice or {@literal null} for the first slice.
+     *
+     * @return
+     */
+    public Object[] getLastKey() {
+        return lastKey == null ? null : lastKey.clone();
+    }
+
+    /**
+     * Returns the {@link Pageable} describing the requested slice.
+     *
+     * @return
+     */
+    public Pageable toPageable() {
+        return sort == null ? new PageRequest(page, size) : new PageRequest(page, size, sort);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Seek request [number: %d, size %d, sort: %s, last key: %s]", page, size, sort,
+                Arrays.toString(lastKey));
+    }
+}
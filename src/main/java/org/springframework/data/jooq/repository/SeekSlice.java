@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository;
+
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * A slice of entities returned by keyset pagination, carrying the continuation token for the next slice.
+ *
+ * @author Johannes Buehler
+ * @see JooqRepository#findAll(SeekRequest)
+ */
+public class SeekSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SeekRequest request;
+    private final Object[] lastKey;
+
+    /**
+     * Creates a new {@link SeekSlice}.
+     *
+     * @param content must not be {@literal null}.
+     * @param request must not be {@literal null}.
+     * @param hasNext whether there's another slice following the current one.
+     * @param lastKey the sort key of the last element of the content, {@literal null} if the content is empty.
+     */
+    public SeekSlice(List<T> content, SeekRequest request, boolean hasNext, Object[] lastKey) {
+
+        super(content, request.toPageable(), hasNext);
+
+        this.request = request;
+        this.lastKey = lastKey;
+    }
+
+    /**
+     * Returns the continuation token, i.e. the values of the sort columns and primary key of the last element.
+     *
+     * @return
+     */
+    public Object[] getLastKey() {
+        return lastKey == null ? null : lastKey.clone();
+    }
+
+    /**
+     * Returns the {@link SeekRequest} for the next slice or {@literal null} if this is the last one.
+     *
+     * @return
+     */
+    public SeekRequest nextRequest() {
+        return hasNext() ? request.after(lastKey) : null;
+    }
+}
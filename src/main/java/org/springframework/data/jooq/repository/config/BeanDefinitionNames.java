@@ -24,5 +24,6 @@ interface BeanDefinitionNames {
 
 	public static final String JOOQ_MAPPING_CONTEXT_BEAN_NAME = "jooqMappingContext";
 	public static final String JOOQ_CONTEXT_BEAN_NAME = "jooqContext";
+	public static final String JOOQ_ENTITY_REGISTRY_BEAN_NAME = "jooqEntityRegistry";
 
 }
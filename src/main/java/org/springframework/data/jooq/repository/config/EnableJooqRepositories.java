@@ -18,6 +18,7 @@ package org.springframework.data.jooq.repository.config;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.context.annotation.ComponentScan.Filter;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.jooq.repository.support.BootstrapMode;
 import org.springframework.data.jooq.repository.support.JooqRepositoryFactoryBean;
 import org.springframework.data.repository.config.DefaultRepositoryBaseClass;
 import org.springframework.data.repository.query.QueryLookupStrategy;
@@ -143,4 +144,73 @@ public @interface EnableJooqRepositories {
 	 * @return whether to enable default transactions, defaults to {@literal true}.
 	 */
 	boolean enableDefaultTransactions() default true;
+
+	/**
+	 * Configures the name of the {@link java.util.concurrent.Executor} bean the methods of
+	 * {@link org.springframework.data.jooq.repository.AsyncJooqRepository} instances run on. Defaults to a shared
+	 * executor using virtual threads where available and a bounded thread pool otherwise.
+	 *
+	 * @return the name of the executor bean, empty for the default executor.
+	 */
+	String asyncExecutorRef() default "";
+
+	/**
+	 * Configures the name of the {@link java.util.concurrent.Executor} bean
+	 * {@link org.springframework.data.jooq.repository.ReactiveJooqRepository} instances read their cursors on. Defaults
+	 * to the same shared executor as {@link #asyncExecutorRef()}.
+	 *
+	 * @return the name of the executor bean, empty for the default executor.
+	 */
+	String reactiveExecutorRef() default "";
+
+	/**
+	 * Configures the name of the {@link org.springframework.data.jooq.repository.metrics.RepositoryMetricsRegistry}
+	 * bean to report the invocations of the repositories and the SQL statements they execute to. Repositories are not
+	 * instrumented by default.
+	 *
+	 * @return the name of the metrics registry bean, empty for none.
+	 */
+	String metricsRegistryRef() default "";
+
+	/**
+	 * Configures the name of the {@link org.springframework.data.jooq.repository.metrics.RepeatedStatementDetector}
+	 * bean checking the statements of the repositories for N+1 queries. Statements are not checked by default.
+	 *
+	 * @return the name of the detector bean, empty for none.
+	 */
+	String repeatedStatementDetectorRef() default "";
+
+	/**
+	 * Configures the name of the {@link org.springframework.data.jooq.repository.routing.ReadReplicas} bean to route
+	 * the read-only methods of the repositories to. All methods run on the primary by default.
+	 *
+	 * @return the name of the read replicas bean, empty for none.
+	 */
+	String readReplicasRef() default "";
+
+	/**
+	 * Configures the name of the {@link org.springframework.data.jooq.repository.support.WriteBehindBuffer} bean the
+	 * repositories queue their writes in within read-write transactions. Writes are queued until the transaction
+	 * commits or a statement reads a table written to, and then executed as JDBC batches. Writes are executed right
+	 * away by default.
+	 *
+	 * @return the name of the write-behind buffer bean, empty for none.
+	 */
+	String writeBehindBufferRef() default "";
+
+	/**
+	 * Configures when the repositories are created. {@link BootstrapMode#LAZY} and {@link BootstrapMode#BACKGROUND}
+	 * keep the creation of repositories out of the startup path of the application context.
+	 *
+	 * @return the bootstrap mode, {@link BootstrapMode#DEFAULT} by default.
+	 */
+	BootstrapMode bootstrapMode() default BootstrapMode.DEFAULT;
+
+	/**
+	 * Configures the name of the {@link java.util.concurrent.Executor} bean the repositories are created on in
+	 * {@link BootstrapMode#BACKGROUND}. Defaults to the shared executor of asynchronous repositories.
+	 *
+	 * @return the name of the executor bean, empty for the default.
+	 */
+	String bootstrapExecutorRef() default "";
 }
@@ -23,7 +23,11 @@ import org.springframework.context.annotation.AnnotationConfigUtils;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
+import org.springframework.data.jooq.repository.AsyncJooqRepository;
 import org.springframework.data.jooq.repository.JooqRepository;
+import org.springframework.data.jooq.repository.ReactiveJooqRepository;
+import org.springframework.data.jooq.repository.support.BootstrapMode;
+import org.springframework.data.jooq.repository.support.JooqEntityRegistry;
 import org.springframework.data.jooq.repository.support.JooqRepositoryFactoryBean;
 import org.springframework.data.repository.config.AnnotationRepositoryConfigurationSource;
 import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
@@ -36,9 +40,9 @@ import javax.persistence.MappedSuperclass;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Locale;
 
+import static org.springframework.data.jooq.repository.config.BeanDefinitionNames.JOOQ_ENTITY_REGISTRY_BEAN_NAME;
 import static org.springframework.data.jooq.repository.config.BeanDefinitionNames.JOOQ_MAPPING_CONTEXT_BEAN_NAME;
 
 /**
@@ -53,6 +57,14 @@ public class JooqRepositoryConfigExtension extends RepositoryConfigurationExtens
 
     private static final String DEFAULT_TRANSACTION_MANAGER_BEAN_NAME = "transactionManager";
     private static final String ENABLE_DEFAULT_TRANSACTIONS_ATTRIBUTE = "enableDefaultTransactions";
+    private static final String ASYNC_EXECUTOR_REF_ATTRIBUTE = "asyncExecutorRef";
+    private static final String REACTIVE_EXECUTOR_REF_ATTRIBUTE = "reactiveExecutorRef";
+    private static final String METRICS_REGISTRY_REF_ATTRIBUTE = "metricsRegistryRef";
+    private static final String REPEATED_STATEMENT_DETECTOR_REF_ATTRIBUTE = "repeatedStatementDetectorRef";
+    private static final String READ_REPLICAS_REF_ATTRIBUTE = "readReplicasRef";
+    private static final String WRITE_BEHIND_BUFFER_REF_ATTRIBUTE = "writeBehindBufferRef";
+    private static final String BOOTSTRAP_MODE_ATTRIBUTE = "bootstrapMode";
+    private static final String BOOTSTRAP_EXECUTOR_REF_ATTRIBUTE = "bootstrapExecutorRef";
 
     /*
      * (non-Javadoc)
@@ -96,7 +108,7 @@ public class JooqRepositoryConfigExtension extends RepositoryConfigurationExtens
      */
     @Override
     protected Collection<Class<?>> getIdentifyingTypes() {
-        return Collections.<Class<?>>singleton(JooqRepository.class);
+        return Arrays.<Class<?>>asList(JooqRepository.class, AsyncJooqRepository.class, ReactiveJooqRepository.class);
     }
 
 
@@ -111,6 +123,35 @@ public class JooqRepositoryConfigExtension extends RepositoryConfigurationExtens
         builder.addPropertyValue("transactionManager",
                 transactionManagerRef == null ? DEFAULT_TRANSACTION_MANAGER_BEAN_NAME : transactionManagerRef);
 
+        String asyncExecutorRef = source.getAttribute(ASYNC_EXECUTOR_REF_ATTRIBUTE);
+        if (StringUtils.hasText(asyncExecutorRef)) {
+            builder.addPropertyReference("asyncExecutor", asyncExecutorRef);
+        }
+        String reactiveExecutorRef = source.getAttribute(REACTIVE_EXECUTOR_REF_ATTRIBUTE);
+        if (StringUtils.hasText(reactiveExecutorRef)) {
+            builder.addPropertyReference("reactiveExecutor", reactiveExecutorRef);
+        }
+        String metricsRegistryRef = source.getAttribute(METRICS_REGISTRY_REF_ATTRIBUTE);
+        if (StringUtils.hasText(metricsRegistryRef)) {
+            builder.addPropertyReference("metricsRegistry", metricsRegistryRef);
+        }
+        String repeatedStatementDetectorRef = source.getAttribute(REPEATED_STATEMENT_DETECTOR_REF_ATTRIBUTE);
+        if (StringUtils.hasText(repeatedStatementDetectorRef)) {
+            builder.addPropertyReference("repeatedStatementDetector", repeatedStatementDetectorRef);
+        }
+        String readReplicasRef = source.getAttribute(READ_REPLICAS_REF_ATTRIBUTE);
+        if (StringUtils.hasText(readReplicasRef)) {
+            builder.addPropertyReference("readReplicas", readReplicasRef);
+        }
+        String writeBehindBufferRef = source.getAttribute(WRITE_BEHIND_BUFFER_REF_ATTRIBUTE);
+        if (StringUtils.hasText(writeBehindBufferRef)) {
+            builder.addPropertyReference("writeBehindBuffer", writeBehindBufferRef);
+        }
+        String bootstrapExecutorRef = source.getAttribute(BOOTSTRAP_EXECUTOR_REF_ATTRIBUTE);
+        if (StringUtils.hasText(bootstrapExecutorRef)) {
+            builder.addPropertyReference("bootstrapExecutor", bootstrapExecutorRef);
+        }
+        builder.addPropertyReference("entityRegistry", JOOQ_ENTITY_REGISTRY_BEAN_NAME);
     }
 
     /*
@@ -124,6 +165,7 @@ public class JooqRepositoryConfigExtension extends RepositoryConfigurationExtens
 
         builder.addPropertyValue(ENABLE_DEFAULT_TRANSACTIONS_ATTRIBUTE,
                 attributes.getBoolean(ENABLE_DEFAULT_TRANSACTIONS_ATTRIBUTE));
+        builder.addPropertyValue(BOOTSTRAP_MODE_ATTRIBUTE, attributes.<BootstrapMode> getEnum(BOOTSTRAP_MODE_ATTRIBUTE));
     }
 
     /*
@@ -151,6 +193,9 @@ public class JooqRepositoryConfigExtension extends RepositoryConfigurationExtens
 
         Object source = config.getSource();
 
+        // One registry for all repositories, so every domain class is resolved once.
+        registerIfNotAlreadyRegistered(new RootBeanDefinition(JooqEntityRegistry.class), registry,
+                JOOQ_ENTITY_REGISTRY_BEAN_NAME, source);
     }
 
 
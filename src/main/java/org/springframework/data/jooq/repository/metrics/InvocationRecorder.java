@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the statements executed during a repository method invocation on the current thread. Recorders of nested
+ * invocations shadow the outer ones until they finish.
+ *
+ * @author Johannes Buehler
+ */
+final class InvocationRecorder {
+
+    private static final ThreadLocal<InvocationRecorder> CURRENT = new ThreadLocal<>();
+
+    private final Class<?> repositoryInterface;
+    private final Method method;
+    private final String methodName;
+    private final InvocationRecorder outer;
+    private final long start = System.nanoTime();
+    private final List<StatementMetrics> statements = new ArrayList<>();
+
+    private InvocationRecorder(Class<?> repositoryInterface, Method method, String methodName, InvocationRecorder outer) {
+        this.repositoryInterface = repositoryInterface;
+        this.method = method;
+        this.methodName = methodName;
+        this.outer = outer;
+    }
+
+    static InvocationRecorder begin(Class<?> repositoryInterface, Method method, String methodName) {
+        InvocationRecorder recorder = new InvocationRecorder(repositoryInterface, method, methodName, CURRENT.get());
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    static InvocationRecorder current() {
+        return CURRENT.get();
+    }
+
+    synchronized void add(StatementMetrics statement) {
+        statements.add(statement);
+    }
+
+    RepositoryMethodMetrics finish(Throwable failure) {
+        long duration = System.nanoTime() - start;
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+        synchronized (this) {
+            return new RepositoryMethodMetrics(repositoryInterface, method, methodName, duration,
+                    new ArrayList<>(statements), failure);
+        }
+    }
+}
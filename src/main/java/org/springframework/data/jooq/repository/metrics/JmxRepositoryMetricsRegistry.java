@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import org.springframework.util.Assert;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link RepositoryMetricsRegistry} aggregating the metrics per repository method into
+ * {@link RepositoryMethodStatistics} registered as MXBeans named
+ * {@code org.springframework.data.jooq:type=RepositoryMetrics,repository=<interface>,method=<method>}.
+ *
+ * @author Johannes Buehler
+ */
+public class JmxRepositoryMetricsRegistry implements RepositoryMetricsRegistry {
+
+    /**
+     * The JMX domain the statistics are registered with.
+     */
+    public static final String DOMAIN = "org.springframework.data.jooq";
+
+    private final MBeanServer server;
+    private final ConcurrentMap<ObjectName, RepositoryMethodStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link JmxRepositoryMetricsRegistry} registering with the platform {@link MBeanServer}.
+     */
+    public JmxRepositoryMetricsRegistry() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Creates a new {@link JmxRepositoryMetricsRegistry} registering with the given {@link MBeanServer}.
+     *
+     * @param server must not be {@literal null}.
+     */
+    public JmxRepositoryMetricsRegistry(MBeanServer server) {
+        Assert.notNull(server, "MBean server must not be null!");
+        this.server = server;
+    }
+
+    @Override
+    public void record(RepositoryMethodMetrics metrics) {
+        ObjectName name = objectName(metrics.getRepositoryInterface(), metrics.getMethodName());
+        RepositoryMethodStatistics methodStatistics = statistics.get(name);
+        if (methodStatistics == null) {
+            methodStatistics = register(name);
+        }
+        methodStatistics.record(metrics);
+    }
+
+    /**
+     * Returns the statistics of the given repository method.
+     *
+     * @param repositoryInterface must not be {@literal null}.
+     * @param methodName as in {@link RepositoryMethodMetrics#getMethodName()}, e.g. {@code findAll(Pageable)}.
+     * @return the statistics or {@literal null} if the method has not been invoked yet.
+     */
+    public RepositoryMethodStatistics getStatistics(Class<?> repositoryInterface, String methodName) {
+        return statistics.get(objectName(repositoryInterface, methodName));
+    }
+
+    /**
+     * Unregisters all statistics from the {@link MBeanServer}.
+     */
+    public void destroy() {
+        for (ObjectName name : statistics.keySet()) {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException e) {
+                // already gone
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not unregister " + name, e);
+            }
+        }
+        statistics.clear();
+    }
+
+    private RepositoryMethodStatistics register(ObjectName name) {
+        RepositoryMethodStatistics methodStatistics = new RepositoryMethodStatistics();
+        RepositoryMethodStatistics existing = statistics.putIfAbsent(name, methodStatistics);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            try {
+                server.registerMBean(methodStatistics, name);
+            } catch (InstanceAlreadyExistsException e) {
+                // left behind by another registry, e.g. of a previous application context
+                server.unregisterMBean(name);
+                server.registerMBean(methodStatistics, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + name, e);
+        }
+        return methodStatistics;
+    }
+
+    private static ObjectName objectName(Class<?> repositoryInterface, String methodName) {
+        try {
+            return new ObjectName(DOMAIN + ":type=RepositoryMetrics,repository=" + repositoryInterface.getName()
+                    + ",method=" + ObjectName.quote(methodName));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid repository method " + methodName, e);
+        }
+    }
+}
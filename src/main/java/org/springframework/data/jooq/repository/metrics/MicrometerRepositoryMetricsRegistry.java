@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RepositoryMetricsRegistry} publishing to a Micrometer {@link MeterRegistry}. All meters are tagged with the
+ * {@code repository} interface and the {@code method}:
+ * <ul>
+ * <li>{@code jooq.repository.invocations}: timer with a percentile histogram, additionally tagged with the
+ * {@code outcome}, i.e. {@code success} or the simple name of the exception thrown.</li>
+ * <li>{@code jooq.repository.phases}: timer per {@code phase}, i.e. {@code render}, {@code execute}, {@code fetch}
+ * and {@code mapping}.</li>
+ * <li>{@code jooq.repository.statements}: timer per {@code statement}, the 1-based position of the statement within
+ * the method, and its {@code type}.</li>
+ * <li>{@code jooq.repository.rows}: distribution summary of the rows fetched or affected.</li>
+ * </ul>
+ *
+ * @author Johannes Buehler
+ */
+public class MicrometerRepositoryMetricsRegistry implements RepositoryMetricsRegistry {
+
+    private final MeterRegistry registry;
+
+    /**
+     * Creates a new {@link MicrometerRepositoryMetricsRegistry} publishing to the given {@link MeterRegistry}.
+     *
+     * @param registry must not be {@literal null}.
+     */
+    public MicrometerRepositoryMetricsRegistry(MeterRegistry registry) {
+        Assert.notNull(registry, "Meter registry must not be null!");
+        this.registry = registry;
+    }
+
+    @Override
+    public void record(RepositoryMethodMetrics metrics) {
+        String repository = metrics.getRepositoryInterface().getName();
+        String method = metrics.getMethodName();
+        String outcome = metrics.getFailure() == null ? "success" : metrics.getFailure().getClass().getSimpleName();
+
+        Timer.builder("jooq.repository.invocations")
+                .tags("repository", repository, "method", method, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(metrics.getDurationNanos(), TimeUnit.NANOSECONDS);
+
+        phase(repository, method, "render", metrics.getRenderNanos());
+        phase(repository, method, "execute", metrics.getExecuteNanos());
+        phase(repository, method, "fetch", metrics.getFetchNanos());
+        phase(repository, method, "mapping", metrics.getMappingNanos());
+
+        List<StatementMetrics> statements = metrics.getStatements();
+        for (int i = 0; i < statements.size(); i++) {
+            StatementMetrics statement = statements.get(i);
+            Timer.builder("jooq.repository.statements")
+                    .tags("repository", repository, "method", method, "statement", String.valueOf(i + 1), "type",
+                            statement.getType().name().toLowerCase(Locale.US))
+                    .register(registry)
+                    .record(statement.getDurationNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        DistributionSummary.builder("jooq.repository.rows")
+                .tags("repository", repository, "method", method)
+                .register(registry)
+                .record(metrics.getRows());
+    }
+
+    private void phase(String repository, String method, String phase, long nanos) {
+        Timer.builder("jooq.repository.phases")
+                .tags("repository", repository, "method", method, "phase", phase)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
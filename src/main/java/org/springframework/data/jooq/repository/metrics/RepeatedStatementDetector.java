@@ -0,0 +1,228 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+/**
+ * {@link org.jooq.ExecuteListener} detecting N+1 queries: it counts the statements executed within a Spring managed
+ * transaction by shape and logs a warning or fails once the same shape is executed more often than a threshold. The
+ * shape of a statement is its SQL with literals replaced by bind markers and {@code IN} lists and {@code VALUES} rows
+ * collapsed, see {@link #normalize(String)}. Statements executed outside of a transaction are not checked.
+ * <p>
+ * Independent of transactions, {@link #count(Runnable)} and {@link #expectAtMost(int, Runnable)} count the statements
+ * an action executes on the current thread, which lets tests assert how many statements a repository call issues.
+ *
+ * @author Johannes Buehler
+ */
+public class RepeatedStatementDetector extends DefaultExecuteListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of executions of a statement shape per transaction tolerated by default.
+     */
+    public static final int DEFAULT_THRESHOLD = 10;
+
+    private static final Log LOG = LogFactory.getLog(RepeatedStatementDetector.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.\"])\\d+(?:\\.\\d+)?(?![\\w.\"])");
+    private static final Pattern MARKER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * How a {@link RepeatedStatementDetector} reacts to a statement shape exceeding the threshold.
+     */
+    public enum Mode {
+
+        /**
+         * Logs a warning the first time a shape exceeds the threshold within a transaction.
+         */
+        LOG,
+
+        /**
+         * Throws a {@link RepeatedStatementException} instead of executing the statement exceeding the threshold.
+         */
+        FAIL
+    }
+
+    private final int threshold;
+    private final Mode mode;
+    private final transient ThreadLocal<Deque<StatementCounts>> scopes = new ThreadLocal<>();
+
+    /**
+     * Creates a new {@link RepeatedStatementDetector} logging statements repeated more than
+     * {@link #DEFAULT_THRESHOLD} times per transaction.
+     */
+    public RepeatedStatementDetector() {
+        this(DEFAULT_THRESHOLD, Mode.LOG);
+    }
+
+    /**
+     * Creates a new {@link RepeatedStatementDetector}.
+     *
+     * @param threshold the number of executions of a statement shape tolerated per transaction, must be greater than
+     *            zero.
+     * @param mode must not be {@literal null}.
+     */
+    public RepeatedStatementDetector(int threshold, Mode mode) {
+        Assert.isTrue(threshold > 0, "Threshold must be greater than zero!");
+        Assert.notNull(mode, "Mode must not be null!");
+        this.threshold = threshold;
+        this.mode = mode;
+    }
+
+    /**
+     * Runs the given action and counts the statements it executes on the current thread. Counting scopes nest, a
+     * statement is counted by all of them.
+     *
+     * @param action must not be {@literal null}.
+     * @return the statements executed by the action.
+     */
+    public StatementCounts count(Runnable action) {
+        Assert.notNull(action, "Action must not be null!");
+        StatementCounts counts = new StatementCounts();
+        Deque<StatementCounts> stack = scopes.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            scopes.set(stack);
+        }
+        stack.push(counts);
+        try {
+            action.run();
+        } finally {
+            stack.pop();
+            if (stack.isEmpty()) {
+                scopes.remove();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Runs the given action and asserts it executes at most the given number of statements on the current thread.
+     *
+     * @param statements the maximum number of statements.
+     * @param action must not be {@literal null}.
+     * @return the statements executed by the action.
+     * @throws AssertionError if the action executed more statements.
+     */
+    public StatementCounts expectAtMost(int statements, Runnable action) {
+        return count(action).assertAtMost(statements);
+    }
+
+    /**
+     * Returns the statements counted within the current transaction so far.
+     *
+     * @return the counts or {@literal null} if there is no transaction or it has not executed a statement yet.
+     */
+    public StatementCounts currentTransaction() {
+        return (StatementCounts) TransactionSynchronizationManager.getResource(this);
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        String shape = normalize(sql(ctx));
+        Deque<StatementCounts> stack = scopes.get();
+        if (stack != null) {
+            for (StatementCounts counts : stack) {
+                counts.add(shape);
+            }
+        }
+        StatementCounts transaction = transactionCounts();
+        if (transaction == null) {
+            return;
+        }
+        int executions = transaction.add(shape);
+        if (executions > threshold) {
+            if (mode == Mode.FAIL) {
+                throw new RepeatedStatementException(shape, executions, threshold);
+            }
+            if (executions == threshold + 1) {
+                LOG.warn("Statement executed more than " + threshold
+                        + " times within one transaction, this usually is an N+1 query: " + shape);
+            }
+        }
+    }
+
+    /**
+     * Normalizes the given SQL to the shape of the statement: literals are replaced by bind markers, lists of bind
+     * markers and lists of single marker rows are collapsed to one element and whitespace is collapsed to a single
+     * blank.
+     *
+     * @param sql can be {@literal null}.
+     * @return the normalized SQL, empty for {@literal null}.
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        shape = MARKER_LIST.matcher(shape).replaceAll("?");
+        shape = ROW_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static String sql(ExecuteContext ctx) {
+        if (ctx.sql() != null) {
+            return ctx.sql();
+        }
+        return String.join("; ", ctx.batchSQL());
+    }
+
+    private StatementCounts transactionCounts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        StatementCounts counts = currentTransaction();
+        if (counts == null) {
+            StatementCounts bound = new StatementCounts();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RepeatedStatementDetector.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(RepeatedStatementDetector.this, bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RepeatedStatementDetector.this);
+                }
+            });
+            counts = bound;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+/**
+ * Thrown by a {@link RepeatedStatementDetector} in {@link RepeatedStatementDetector.Mode#FAIL} mode when a statement
+ * shape is about to be executed more often within a transaction than allowed. The offending statement is not
+ * executed.
+ *
+ * @author Johannes Buehler
+ */
+public class RepeatedStatementException extends InvalidDataAccessApiUsageException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String sql;
+    private final int executions;
+
+    /**
+     * Creates a new {@link RepeatedStatementException}.
+     *
+     * @param sql the normalized SQL of the repeated statement.
+     * @param executions the number of executions including the rejected one.
+     * @param threshold the maximum number of executions allowed.
+     */
+    public RepeatedStatementException(String sql, int executions, int threshold) {
+        super("Statement executed " + executions + " times within one transaction, at most " + threshold
+                + " allowed; this usually is an N+1 query: " + sql);
+        this.sql = sql;
+        this.executions = executions;
+    }
+
+    /**
+     * @return the normalized SQL of the repeated statement.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the number of executions including the rejected one.
+     */
+    public int getExecutions() {
+        return executions;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Metrics of a single invocation of a repository method. The overall duration is split into the phases of the SQL
+ * statements executed and the time spent outside of them, which is mostly mapping records to entities.
+ *
+ * @author Johannes Buehler
+ */
+public final class RepositoryMethodMetrics {
+
+    private final Class<?> repositoryInterface;
+    private final Method method;
+    private final String methodName;
+    private final long durationNanos;
+    private final List<StatementMetrics> statements;
+    private final Throwable failure;
+
+    RepositoryMethodMetrics(Class<?> repositoryInterface, Method method, String methodName, long durationNanos,
+                            List<StatementMetrics> statements, Throwable failure) {
+        this.repositoryInterface = repositoryInterface;
+        this.method = method;
+        this.methodName = methodName;
+        this.durationNanos = durationNanos;
+        this.statements = Collections.unmodifiableList(statements);
+        this.failure = failure;
+    }
+
+    /**
+     * @return the repository interface invoked.
+     */
+    public Class<?> getRepositoryInterface() {
+        return repositoryInterface;
+    }
+
+    /**
+     * @return the method invoked.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the name of the method along with the simple names of its parameter types, e.g.
+     * {@code findAll(Pageable)}.
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return the overall time spent in the method.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return the SQL statements executed, in the order they completed.
+     */
+    public List<StatementMetrics> getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return the exception thrown by the method, {@literal null} if it returned normally.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return the time spent rendering SQL.
+     */
+    public long getRenderNanos() {
+        long nanos = 0;
+        for (StatementMetrics statement : statements) {
+            nanos += statement.getRenderNanos();
+        }
+        return nanos;
+    }
+
+    /**
+     * @return the time spent preparing, binding and executing statements.
+     */
+    public long getExecuteNanos() {
+        long nanos = 0;
+        for (StatementMetrics statement : statements) {
+            nanos += statement.getExecuteNanos();
+        }
+        return nanos;
+    }
+
+    /**
+     * @return the time spent reading rows into records.
+     */
+    public long getFetchNanos() {
+        long nanos = 0;
+        for (StatementMetrics statement : statements) {
+            nanos += statement.getFetchNanos();
+        }
+        return nanos;
+    }
+
+    /**
+     * @return the time spent outside of SQL statements, mostly mapping records to entities.
+     */
+    public long getMappingNanos() {
+        long nanos = durationNanos;
+        for (StatementMetrics statement : statements) {
+            nanos -= statement.getDurationNanos();
+        }
+        return Math.max(0, nanos);
+    }
+
+    /**
+     * @return the number of rows fetched or affected by all statements.
+     */
+    public long getRows() {
+        long rows = 0;
+        for (StatementMetrics statement : statements) {
+            rows += statement.getRows();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated statistics of the invocations of a single repository method.
+ *
+ * @author Johannes Buehler
+ */
+public class RepositoryMethodStatistics implements RepositoryMethodStatisticsMXBean {
+
+    private static final long[] LATENCY_BUCKETS_MICROS = {100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000,
+            100000, 250000, 500000, 1000000, Long.MAX_VALUE};
+    private static final int MAX_STATEMENTS = 8;
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private long invocations;
+    private long failures;
+    private long totalNanos;
+    private long maxNanos;
+    private long renderNanos;
+    private long executeNanos;
+    private long fetchNanos;
+    private long mappingNanos;
+    private long rows;
+    private final long[] latencyHistogram = new long[LATENCY_BUCKETS_MICROS.length];
+    private final long[] statementCounts = new long[MAX_STATEMENTS];
+    private final long[] statementNanos = new long[MAX_STATEMENTS];
+    private final String[] statementSql = new String[MAX_STATEMENTS];
+
+    synchronized void record(RepositoryMethodMetrics metrics) {
+        long duration = metrics.getDurationNanos();
+        invocations++;
+        if (metrics.getFailure() != null) {
+            failures++;
+        }
+        totalNanos += duration;
+        maxNanos = Math.max(maxNanos, duration);
+        renderNanos += metrics.getRenderNanos();
+        executeNanos += metrics.getExecuteNanos();
+        fetchNanos += metrics.getFetchNanos();
+        mappingNanos += metrics.getMappingNanos();
+        rows += metrics.getRows();
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(duration);
+        int bucket = 0;
+        while (micros > LATENCY_BUCKETS_MICROS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram[bucket]++;
+
+        List<StatementMetrics> statements = metrics.getStatements();
+        for (int i = 0; i < statements.size() && i < MAX_STATEMENTS; i++) {
+            statementCounts[i]++;
+            statementNanos[i] += statements.get(i).getDurationNanos();
+            statementSql[i] = statements.get(i).getSql();
+        }
+    }
+
+    @Override
+    public synchronized long getInvocations() {
+        return invocations;
+    }
+
+    @Override
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    @Override
+    public synchronized double getMeanTimeMillis() {
+        return mean(totalNanos);
+    }
+
+    @Override
+    public synchronized double getMaxTimeMillis() {
+        return maxNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized double getMeanRenderTimeMillis() {
+        return mean(renderNanos);
+    }
+
+    @Override
+    public synchronized double getMeanExecuteTimeMillis() {
+        return mean(executeNanos);
+    }
+
+    @Override
+    public synchronized double getMeanFetchTimeMillis() {
+        return mean(fetchNanos);
+    }
+
+    @Override
+    public synchronized double getMeanMappingTimeMillis() {
+        return mean(mappingNanos);
+    }
+
+    @Override
+    public synchronized double getMeanRows() {
+        return invocations == 0 ? 0 : (double) rows / invocations;
+    }
+
+    @Override
+    public long[] getLatencyBucketsMicros() {
+        return LATENCY_BUCKETS_MICROS.clone();
+    }
+
+    @Override
+    public synchronized long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    @Override
+    public synchronized double[] getMeanStatementTimeMillis() {
+        int statements = statements();
+        double[] means = new double[statements];
+        for (int i = 0; i < statements; i++) {
+            means[i] = statementNanos[i] / NANOS_PER_MILLI / statementCounts[i];
+        }
+        return means;
+    }
+
+    @Override
+    public synchronized String[] getStatementSql() {
+        return Arrays.copyOf(statementSql, statements());
+    }
+
+    @Override
+    public synchronized void reset() {
+        invocations = 0;
+        failures = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        renderNanos = 0;
+        executeNanos = 0;
+        fetchNanos = 0;
+        mappingNanos = 0;
+        rows = 0;
+        Arrays.fill(latencyHistogram, 0);
+        Arrays.fill(statementCounts, 0);
+        Arrays.fill(statementNanos, 0);
+        Arrays.fill(statementSql, null);
+    }
+
+    private int statements() {
+        int statements = 0;
+        while (statements < MAX_STATEMENTS && statementCounts[statements] > 0) {
+            statements++;
+        }
+        return statements;
+    }
+
+    private double mean(long nanos) {
+        return invocations == 0 ? 0 : nanos / NANOS_PER_MILLI / invocations;
+    }
+}
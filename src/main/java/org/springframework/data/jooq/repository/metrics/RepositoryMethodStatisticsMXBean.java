@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+/**
+ * Management interface of the statistics {@link JmxRepositoryMetricsRegistry} keeps per repository method.
+ *
+ * @author Johannes Buehler
+ */
+public interface RepositoryMethodStatisticsMXBean {
+
+    long getInvocations();
+
+    long getFailures();
+
+    double getMeanTimeMillis();
+
+    double getMaxTimeMillis();
+
+    double getMeanRenderTimeMillis();
+
+    double getMeanExecuteTimeMillis();
+
+    double getMeanFetchTimeMillis();
+
+    double getMeanMappingTimeMillis();
+
+    double getMeanRows();
+
+    /**
+     * @return the upper bounds in microseconds of the buckets of {@link #getLatencyHistogram()}, the last bucket being
+     * unbounded.
+     */
+    long[] getLatencyBucketsMicros();
+
+    /**
+     * @return the number of invocations per latency bucket.
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * @return the mean time of the n-th statement executed by the method, e.g. the page and the count query of a
+     * paged finder.
+     */
+    double[] getMeanStatementTimeMillis();
+
+    /**
+     * @return the SQL last executed as the n-th statement of the method.
+     */
+    String[] getStatementSql();
+
+    void reset();
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link MethodInterceptor} timing the invocations of a repository and reporting them, along with the statements
+ * recorded by a {@link RepositoryMetricsListener}, to a {@link RepositoryMetricsRegistry}.
+ *
+ * @author Johannes Buehler
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final Class<?> repositoryInterface;
+    private final RepositoryMetricsRegistry registry;
+    private final ConcurrentMap<Method, String> methodNames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link RepositoryMetricsInterceptor} for the given repository.
+     *
+     * @param repositoryInterface must not be {@literal null}.
+     * @param registry must not be {@literal null}.
+     */
+    public RepositoryMetricsInterceptor(Class<?> repositoryInterface, RepositoryMetricsRegistry registry) {
+        Assert.notNull(repositoryInterface, "Repository interface must not be null!");
+        Assert.notNull(registry, "Metrics registry must not be null!");
+        this.repositoryInterface = repositoryInterface;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        InvocationRecorder recorder = InvocationRecorder.begin(repositoryInterface, method, methodName(method));
+        Throwable failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            registry.record(recorder.finish(failure));
+        }
+    }
+
+    private String methodName(Method method) {
+        String name = methodNames.get(method);
+        if (name == null) {
+            List<String> parameterTypes = new ArrayList<>();
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                parameterTypes.add(parameterType.getSimpleName());
+            }
+            name = method.getName() + "(" + StringUtils.collectionToDelimitedString(parameterTypes, ",") + ")";
+            methodNames.putIfAbsent(method, name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * {@link org.jooq.ExecuteListener} timing the phases of the statements executed within an invocation of a repository
+ * instrumented by {@link RepositoryMetricsInterceptor}. Statements executed outside of such invocations are ignored.
+ *
+ * @author Johannes Buehler
+ */
+public class RepositoryMetricsListener extends DefaultExecuteListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String TIMER = RepositoryMetricsListener.class.getName() + ".timer";
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        InvocationRecorder recorder = InvocationRecorder.current();
+        if (recorder != null) {
+            ctx.data(TIMER, new StatementTimer(recorder));
+        }
+    }
+
+    @Override
+    public void renderStart(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null) {
+            timer.renderStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null) {
+            timer.render += System.nanoTime() - timer.renderStart;
+        }
+    }
+
+    @Override
+    public void prepareStart(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null) {
+            timer.executeStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void executeEnd(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null && timer.executeStart != 0) {
+            timer.execute += System.nanoTime() - timer.executeStart;
+        }
+    }
+
+    @Override
+    public void fetchStart(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null) {
+            timer.fetchStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void recordEnd(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null) {
+            timer.records++;
+        }
+    }
+
+    @Override
+    public void fetchEnd(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null && timer.fetchStart != 0) {
+            timer.fetch += System.nanoTime() - timer.fetchStart;
+            timer.fetchStart = 0;
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        StatementTimer timer = timer(ctx);
+        if (timer != null) {
+            long duration = System.nanoTime() - timer.start;
+            timer.recorder.add(new StatementMetrics(ctx.type(), ctx.sql(), duration, timer.render, timer.execute,
+                    timer.fetch, rows(ctx, timer)));
+        }
+    }
+
+    private static long rows(ExecuteContext ctx, StatementTimer timer) {
+        if (ctx.type() == ExecuteType.READ || timer.records > 0) {
+            return timer.records;
+        }
+        if (ctx.batchRows() != null && ctx.batchRows().length > 0) {
+            long rows = 0;
+            for (int batchRows : ctx.batchRows()) {
+                rows += Math.max(0, batchRows);
+            }
+            return rows;
+        }
+        return Math.max(0, ctx.rows());
+    }
+
+    private static StatementTimer timer(ExecuteContext ctx) {
+        return (StatementTimer) ctx.data(TIMER);
+    }
+
+    private static class StatementTimer {
+
+        final InvocationRecorder recorder;
+        final long start = System.nanoTime();
+        long renderStart;
+        long executeStart;
+        long fetchStart;
+        long render;
+        long execute;
+        long fetch;
+        long records;
+
+        StatementTimer(InvocationRecorder recorder) {
+            this.recorder = recorder;
+        }
+    }
+}
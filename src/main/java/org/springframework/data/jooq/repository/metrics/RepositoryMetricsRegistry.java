@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+/**
+ * SPI to publish the metrics of repository method invocations, e.g. to JMX or Micrometer. Implementations are called
+ * synchronously after every invocation of an instrumented repository and must be thread-safe.
+ *
+ * @author Johannes Buehler
+ * @see JmxRepositoryMetricsRegistry
+ * @see MicrometerRepositoryMetricsRegistry
+ */
+public interface RepositoryMetricsRegistry {
+
+    /**
+     * Records the metrics of a completed repository method invocation.
+     *
+     * @param metrics never {@literal null}.
+     */
+    void record(RepositoryMethodMetrics metrics);
+}
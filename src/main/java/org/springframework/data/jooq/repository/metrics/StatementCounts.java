@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The number of statements executed within a transaction or a {@link RepeatedStatementDetector#count(Runnable)
+ * counting scope}, in total and per statement shape. The shape of a statement is its SQL normalized by
+ * {@link RepeatedStatementDetector#normalize(String)}, so statements differing only in bind values, literals or the
+ * length of {@code IN} lists share a shape.
+ *
+ * @author Johannes Buehler
+ */
+public class StatementCounts {
+
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int total;
+
+    /**
+     * Counts a statement of the given shape.
+     *
+     * @param shape the normalized SQL.
+     * @return the number of statements of that shape counted so far, including this one.
+     */
+    synchronized int add(String shape) {
+        total++;
+        return shapes.merge(shape, 1, Integer::sum);
+    }
+
+    /**
+     * Returns the total number of statements counted. A batch counts as a single statement.
+     *
+     * @return the number of statements.
+     */
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of statements of the shape of the given SQL.
+     *
+     * @param sql must not be {@literal null}.
+     * @return the number of statements of that shape, {@literal 0} if none.
+     */
+    public synchronized int getCount(String sql) {
+        return shapes.getOrDefault(RepeatedStatementDetector.normalize(sql), 0);
+    }
+
+    /**
+     * Returns the number of statements per shape, in the order the shapes were first executed.
+     *
+     * @return an immutable copy, never {@literal null}.
+     */
+    public synchronized Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(shapes));
+    }
+
+    /**
+     * Asserts no more than the given number of statements were counted.
+     *
+     * @param statements the maximum number of statements.
+     * @return this instance.
+     * @throws AssertionError if more statements were counted.
+     */
+    public StatementCounts assertAtMost(int statements) {
+        int actual = getTotal();
+        if (actual > statements) {
+            throw new AssertionError("Expected at most " + statements + " statements but " + actual
+                    + " were executed: " + getShapes());
+        }
+        return this;
+    }
+
+    /**
+     * Asserts no statement shape was executed more than the given number of times.
+     *
+     * @param executions the maximum number of executions per shape.
+     * @return this instance.
+     * @throws AssertionError if a shape was executed more often.
+     */
+    public StatementCounts assertNoShapeRepeatedMoreThan(int executions) {
+        for (Map.Entry<String, Integer> shape : getShapes().entrySet()) {
+            if (shape.getValue() > executions) {
+                throw new AssertionError("Expected every statement at most " + executions + " times but "
+                        + shape.getKey() + " was executed " + shape.getValue() + " times");
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return getTotal() + " statements " + getShapes();
+    }
+}
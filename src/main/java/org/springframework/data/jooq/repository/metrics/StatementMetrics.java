@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.metrics;
+
+import org.jooq.ExecuteType;
+
+/**
+ * Timings of a single SQL statement executed by a repository method.
+ *
+ * @author Johannes Buehler
+ */
+public final class StatementMetrics {
+
+    private final ExecuteType type;
+    private final String sql;
+    private final long durationNanos;
+    private final long renderNanos;
+    private final long executeNanos;
+    private final long fetchNanos;
+    private final long rows;
+
+    StatementMetrics(ExecuteType type, String sql, long durationNanos, long renderNanos, long executeNanos,
+                     long fetchNanos, long rows) {
+        this.type = type;
+        this.sql = sql;
+        this.durationNanos = durationNanos;
+        this.renderNanos = renderNanos;
+        this.executeNanos = executeNanos;
+        this.fetchNanos = fetchNanos;
+        this.rows = rows;
+    }
+
+    /**
+     * @return the kind of statement, e.g. {@link ExecuteType#READ} or {@link ExecuteType#BATCH}.
+     */
+    public ExecuteType getType() {
+        return type;
+    }
+
+    /**
+     * @return the SQL executed, {@literal null} for batches of different statements.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the overall time spent on the statement, including acquiring and releasing the connection.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return the time spent rendering SQL.
+     */
+    public long getRenderNanos() {
+        return renderNanos;
+    }
+
+    /**
+     * @return the time spent preparing, binding and executing the statement.
+     */
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * @return the time spent reading rows into records.
+     */
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    /**
+     * @return the number of rows fetched by queries or affected by other statements.
+     */
+    public long getRows() {
+        return rows;
+    }
+}
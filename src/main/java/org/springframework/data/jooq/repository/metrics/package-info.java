@@ -0,0 +1,4 @@
+/**
+ * Metrics of repository method invocations and the SQL statements they execute.
+ */
+package org.springframework.data.jooq.repository.metrics;
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.routing;
+
+/**
+ * The databases statements of a repository can be routed to.
+ *
+ * @author Johannes Buehler
+ * @see ReadReplicas
+ */
+public enum DataSourceRole {
+
+    /**
+     * The primary database all writes go to.
+     */
+    PRIMARY,
+
+    /**
+     * One of the read replicas, which may lag behind the primary.
+     */
+    REPLICA
+}
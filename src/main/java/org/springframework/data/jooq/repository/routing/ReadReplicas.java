@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.routing;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The read replicas of a primary database. Repositories configured with replicas run their read-only methods on a
+ * replica unless
+ * <ul>
+ * <li>the method is invoked within a read-write transaction, which has to see its own changes, or</li>
+ * <li>the invoking thread wrote through a repository less than the
+ * {@link #setReadYourWritesWindow(long) read-your-writes window} ago, so it doesn't miss its own writes while the
+ * replicas catch up.</li>
+ * </ul>
+ * All other methods run on the primary. {@link RouteTo} overrides the routing of single methods. Reads routed to a
+ * replica outside of a transaction don't begin the repository's read-only transaction, as it would check out a
+ * primary connection for the duration of the read.
+ *
+ * @author Johannes Buehler
+ */
+public class ReadReplicas {
+
+    /**
+     * The default time in milliseconds after a write during which the writing thread keeps reading from the primary.
+     */
+    public static final long DEFAULT_READ_YOUR_WRITES_WINDOW = 1000;
+
+    private final List<DSLContext> replicas;
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+    private long readYourWritesWindow = DEFAULT_READ_YOUR_WRITES_WINDOW;
+
+    private final ThreadLocal<DataSourceRole> role = new ThreadLocal<>();
+    private final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+
+    /**
+     * Creates new {@link ReadReplicas} routing reads to the given databases.
+     *
+     * @param replicas must not be {@literal null} or empty.
+     */
+    public ReadReplicas(DSLContext... replicas) {
+        this(Arrays.asList(replicas));
+    }
+
+    /**
+     * Creates new {@link ReadReplicas} routing reads to the given databases.
+     *
+     * @param replicas must not be {@literal null} or empty.
+     */
+    public ReadReplicas(List<DSLContext> replicas) {
+        Assert.notEmpty(replicas, "Replicas must not be empty!");
+        Assert.noNullElements(replicas.toArray(), "Replicas must not contain null elements!");
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+    }
+
+    /**
+     * Configures how the replica a read is routed to is picked. Defaults to {@link ReplicaSelection#ROUND_ROBIN}.
+     *
+     * @param selection must not be {@literal null}.
+     */
+    public void setSelection(ReplicaSelection selection) {
+        Assert.notNull(selection, "Replica selection must not be null!");
+        this.selection = selection;
+    }
+
+    public ReplicaSelection getSelection() {
+        return selection;
+    }
+
+    /**
+     * Configures the time in milliseconds after a write, or after the commit of the transaction it belongs to, during
+     * which the writing thread keeps reading from the primary. Defaults to {@link #DEFAULT_READ_YOUR_WRITES_WINDOW}.
+     *
+     * @param readYourWritesWindow must not be negative.
+     */
+    public void setReadYourWritesWindow(long readYourWritesWindow) {
+        Assert.isTrue(readYourWritesWindow >= 0, "Read-your-writes window must not be negative!");
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public long getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public List<DSLContext> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Returns a {@link DSLContext} based on the given primary one which acquires its connections from the database the
+     * current repository method is routed to. Outside of repository methods all statements run on the primary.
+     *
+     * @param primary must not be {@literal null}.
+     * @return a routing {@link DSLContext}.
+     */
+    public DSLContext route(DSLContext primary) {
+        Assert.notNull(primary, "Primary DSLContext must not be null!");
+        List<ConnectionProvider> providers = new ArrayList<>(replicas.size());
+        for (DSLContext replica : replicas) {
+            providers.add(replica.configuration().connectionProvider());
+        }
+        ConnectionProvider routing = new RoutingConnectionProvider(primary.configuration().connectionProvider(), providers, this);
+        return DSL.using(primary.configuration().derive(routing));
+    }
+
+    DataSourceRole currentRole() {
+        DataSourceRole current = role.get();
+        return current == null ? DataSourceRole.PRIMARY : current;
+    }
+
+    DataSourceRole enter(DataSourceRole role) {
+        DataSourceRole previous = this.role.get();
+        this.role.set(role);
+        return previous;
+    }
+
+    void exit(DataSourceRole previous) {
+        if (previous == null) {
+            role.remove();
+        } else {
+            role.set(previous);
+        }
+    }
+
+    boolean isWithinReadYourWritesWindow() {
+        Long written = lastWrite.get();
+        return written != null && System.currentTimeMillis() - written < readYourWritesWindow;
+    }
+
+    void written() {
+        if (readYourWritesWindow == 0) {
+            return;
+        }
+        lastWrite.set(System.currentTimeMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The replicas only start catching up once the transaction commits.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    lastWrite.set(System.currentTimeMillis());
+                }
+            });
+        }
+    }
+}
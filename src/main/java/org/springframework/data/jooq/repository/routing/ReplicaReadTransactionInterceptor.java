@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.routing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Decorates the transaction interceptor of a repository routed by a {@link ReplicaRoutingInterceptor} so that reads
+ * routed to a replica don't begin a transaction of their own. The transaction manager of the repository manages the
+ * primary, so beginning one would check out a primary connection for the whole read although all its statements run
+ * on the replica. Invocations within an existing transaction or routed to the primary pass through unchanged.
+ *
+ * @author Johannes Buehler
+ */
+public class ReplicaReadTransactionInterceptor implements MethodInterceptor {
+
+    private final MethodInterceptor transactionInterceptor;
+    private final ReadReplicas readReplicas;
+
+    /**
+     * Creates a new {@link ReplicaReadTransactionInterceptor}.
+     *
+     * @param transactionInterceptor must not be {@literal null}.
+     * @param readReplicas must not be {@literal null}.
+     */
+    public ReplicaReadTransactionInterceptor(MethodInterceptor transactionInterceptor, ReadReplicas readReplicas) {
+        Assert.notNull(transactionInterceptor, "Transaction interceptor must not be null!");
+        Assert.notNull(readReplicas, "Read replicas must not be null!");
+        this.transactionInterceptor = transactionInterceptor;
+        this.readReplicas = readReplicas;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (readReplicas.currentRole() == DataSourceRole.REPLICA
+                && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        return transactionInterceptor.invoke(invocation);
+    }
+}
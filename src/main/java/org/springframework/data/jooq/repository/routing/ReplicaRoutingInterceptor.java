@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.routing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * {@link MethodInterceptor} routing the invocations of a repository to the primary or a replica of
+ * {@link ReadReplicas}. Methods are read-only if their {@link Transactional} declaration says so, looked up on the
+ * repository interface method and, for methods implemented by the repository base class, on the implementing method
+ * and the base class, in that order. Query methods without a declaration of their own as well as all derived
+ * {@code deleteBy} and {@code removeBy} methods run on the primary.
+ *
+ * @author Johannes Buehler
+ */
+public class ReplicaRoutingInterceptor implements MethodInterceptor {
+
+    private static final Pattern DERIVED_DELETE = Pattern.compile("^(delete|remove)(\\p{Lu}.*?)??By");
+
+    private final Class<?> repositoryInterface;
+    private final Class<?> repositoryBaseClass;
+    private final ReadReplicas readReplicas;
+    private final ConcurrentMap<Method, Routing> routings = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link ReplicaRoutingInterceptor} for the given repository.
+     *
+     * @param repositoryInterface must not be {@literal null}.
+     * @param repositoryBaseClass must not be {@literal null}.
+     * @param readReplicas must not be {@literal null}.
+     */
+    public ReplicaRoutingInterceptor(Class<?> repositoryInterface, Class<?> repositoryBaseClass, ReadReplicas readReplicas) {
+        Assert.notNull(repositoryInterface, "Repository interface must not be null!");
+        Assert.notNull(repositoryBaseClass, "Repository base class must not be null!");
+        Assert.notNull(readReplicas, "Read replicas must not be null!");
+        this.repositoryInterface = repositoryInterface;
+        this.repositoryBaseClass = repositoryBaseClass;
+        this.readReplicas = readReplicas;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Routing routing = routings.computeIfAbsent(invocation.getMethod(), this::resolve);
+        DataSourceRole role = routing.role;
+        if (role == DataSourceRole.REPLICA && !routing.explicit && mustReadFromPrimary()) {
+            role = DataSourceRole.PRIMARY;
+        }
+
+        DataSourceRole previous = readReplicas.enter(role);
+        try {
+            return invocation.proceed();
+        } finally {
+            readReplicas.exit(previous);
+            if (!routing.readOnly) {
+                readReplicas.written();
+            }
+        }
+    }
+
+    private boolean mustReadFromPrimary() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readReplicas.isWithinReadYourWritesWindow();
+    }
+
+    private Routing resolve(Method method) {
+        boolean readOnly = isReadOnly(method);
+        RouteTo routeTo = AnnotationUtils.findAnnotation(method, RouteTo.class);
+        if (routeTo == null) {
+            routeTo = AnnotationUtils.findAnnotation(repositoryInterface, RouteTo.class);
+        }
+        if (routeTo != null) {
+            return new Routing(routeTo.value(), true, readOnly);
+        }
+        return new Routing(readOnly ? DataSourceRole.REPLICA : DataSourceRole.PRIMARY, false, readOnly);
+    }
+
+    private boolean isReadOnly(Method method) {
+        Method specificMethod = ClassUtils.getMostSpecificMethod(method, repositoryBaseClass);
+        boolean implemented = specificMethod.getDeclaringClass().isAssignableFrom(repositoryBaseClass);
+        if (!implemented && DERIVED_DELETE.matcher(method.getName()).find()) {
+            return false;
+        }
+        Transactional transactional = AnnotationUtils.findAnnotation(method, Transactional.class);
+        if (transactional == null && implemented) {
+            transactional = AnnotationUtils.findAnnotation(specificMethod, Transactional.class);
+            if (transactional == null) {
+                transactional = AnnotationUtils.findAnnotation(repositoryBaseClass, Transactional.class);
+            }
+        }
+        return transactional != null && transactional.readOnly();
+    }
+
+    private static class Routing {
+
+        final DataSourceRole role;
+        final boolean explicit;
+        final boolean readOnly;
+
+        Routing(DataSourceRole role, boolean explicit, boolean readOnly) {
+            this.role = role;
+            this.explicit = explicit;
+            this.readOnly = readOnly;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.routing;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ConnectionProvider} acquiring connections from the primary or one of the replicas, depending on the
+ * {@link ReadReplicas#currentRole() role} the current thread is routed to. Every connection is released to the
+ * provider it was acquired from.
+ *
+ * @author Johannes Buehler
+ */
+class RoutingConnectionProvider implements ConnectionProvider {
+
+    private static final int PRIMARY = -1;
+
+    private final ConnectionProvider primary;
+    private final List<ConnectionProvider> replicas;
+    private final ReadReplicas readReplicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger[] inUse;
+    private final Map<Connection, Integer> acquired = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    RoutingConnectionProvider(ConnectionProvider primary, List<ConnectionProvider> replicas, ReadReplicas readReplicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readReplicas = readReplicas;
+        this.inUse = new AtomicInteger[replicas.size()];
+        for (int i = 0; i < inUse.length; i++) {
+            inUse[i] = new AtomicInteger();
+        }
+    }
+
+    @Override
+    public Connection acquire() throws DataAccessException {
+        if (readReplicas.currentRole() == DataSourceRole.PRIMARY) {
+            Connection connection = primary.acquire();
+            acquired.put(connection, PRIMARY);
+            return connection;
+        }
+        int replica = select();
+        inUse[replica].incrementAndGet();
+        try {
+            Connection connection = replicas.get(replica).acquire();
+            acquired.put(connection, replica);
+            return connection;
+        } catch (RuntimeException e) {
+            inUse[replica].decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(Connection connection) throws DataAccessException {
+        Integer source = acquired.remove(connection);
+        if (source == null || source == PRIMARY) {
+            primary.release(connection);
+        } else {
+            inUse[source].decrementAndGet();
+            replicas.get(source).release(connection);
+        }
+    }
+
+    private int select() {
+        if (readReplicas.getSelection() == ReplicaSelection.LEAST_LOADED) {
+            int least = 0;
+            for (int i = 1; i < inUse.length; i++) {
+                if (inUse[i].get() < inUse[least].get()) {
+                    least = i;
+                }
+            }
+            return least;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+}
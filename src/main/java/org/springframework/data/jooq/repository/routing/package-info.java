@@ -0,0 +1,4 @@
+/**
+ * Routing of repository reads to read replicas.
+ */
+package org.springframework.data.jooq.repository.routing;
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor {@link SimpleAsyncJooqRepository} instances run on unless configured otherwise.
+ *
+ * @author Johannes Buehler
+ */
+public abstract class AsyncExecutors {
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * Returns the executor shared by all asynchronous repositories without an explicitly configured one. Starts a
+     * virtual thread per task where the JVM supports them and uses a bounded pool of daemon threads otherwise. Either
+     * way, concurrency is effectively limited by the size of the connection pool.
+     *
+     * @return the default executor, never {@literal null}.
+     */
+    public static ExecutorService defaultExecutor() {
+        return Holder.EXECUTOR;
+    }
+
+    /**
+     * Returns an executor starting a virtual thread per task, or {@literal null} if the JVM lacks virtual threads.
+     *
+     * @return an executor or {@literal null}.
+     */
+    public static ExecutorService virtualThreadExecutor() {
+        Method factory = ReflectionUtils.findMethod(Executors.class, VIRTUAL_THREAD_EXECUTOR_METHOD);
+        return factory == null ? null : (ExecutorService) ReflectionUtils.invokeMethod(factory, null);
+    }
+
+    /**
+     * Returns a fixed size pool of daemon threads.
+     *
+     * @param threads must be greater than zero.
+     * @return a new executor.
+     */
+    public static ExecutorService boundedExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "jooq-repository-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    private static class Holder {
+
+        static final ExecutorService EXECUTOR = createDefaultExecutor();
+
+        private static ExecutorService createDefaultExecutor() {
+            ExecutorService virtualThreads = virtualThreadExecutor();
+            if (virtualThreads != null) {
+                return virtualThreads;
+            }
+            return boundedExecutor(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        }
+    }
+}
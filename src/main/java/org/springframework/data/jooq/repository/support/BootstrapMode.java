@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+/**
+ * When {@link JooqRepositoryFactoryBean} creates its repository.
+ *
+ * @author Johannes Buehler
+ */
+public enum BootstrapMode {
+
+	/**
+	 * Creates the repository along with its bean.
+	 */
+	DEFAULT,
+
+	/**
+	 * Exposes a proxy as the repository bean and creates the repository on its first invocation.
+	 */
+	LAZY,
+
+	/**
+	 * Exposes a proxy as the repository bean and creates the repository on the bootstrap executor right away, so the
+	 * repositories of a context are created in parallel with each other and with the rest of the context. The first
+	 * invocation waits for the repository if it isn't ready yet.
+	 */
+	BACKGROUND
+}
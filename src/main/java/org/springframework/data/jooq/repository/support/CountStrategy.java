@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+/**
+ * The way {@link SimpleJooqRepository#findAll(org.springframework.data.domain.Pageable)} determines the total number
+ * of entities of a page. Whatever the strategy, no count is issued if the total follows from the page content itself.
+ *
+ * @author Johannes Buehler
+ */
+public enum CountStrategy {
+
+	/**
+	 * Issues a separate {@code SELECT COUNT(*)} for every page.
+	 */
+	QUERY,
+
+	/**
+	 * Selects the total along with the page content using {@code COUNT(*) OVER()}, costing a single round trip. Falls back
+	 * to {@link #QUERY} on dialects not known to support window functions, e.g. {@code FIREBIRD_2_5}, {@code H2} or
+	 * {@code MYSQL}.
+	 */
+	WINDOW,
+
+	/**
+	 * Issues a {@code SELECT COUNT(*)} at most once per configured time to live and reuses its result in between. Saves
+	 * and deletes through the repository discard the cached count.
+	 */
+	CACHED,
+
+	/**
+	 * Reads the estimated row count from the catalog statistics where the dialect exposes them and falls back to
+	 * {@link #QUERY} otherwise.
+	 */
+	ESTIMATED
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.util.Assert;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link Publisher} emitting the elements of a lazily opened {@link Stream}, typically one backed by a jOOQ cursor.
+ * Every subscription opens a stream of its own on its first request and pulls only as many elements as requested.
+ * All access to the stream happens in a single drain loop at a time on the given {@link Executor}, so the cursor is
+ * never used concurrently.
+ *
+ * @author Johannes Buehler
+ */
+class CursorPublisher<E> implements Publisher<E> {
+
+    private final Supplier<Stream<E>> source;
+    private final Executor executor;
+
+    CursorPublisher(Supplier<Stream<E>> source, Executor executor) {
+        Assert.notNull(source, "Source must not be null!");
+        Assert.notNull(executor, "Executor must not be null!");
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super E> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber must not be null!");
+        }
+        subscriber.onSubscribe(new CursorSubscription(subscriber));
+    }
+
+    private class CursorSubscription implements Subscription {
+
+        private final Subscriber<? super E> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Only accessed from within the drain loop.
+        private Stream<E> stream;
+        private Iterator<E> iterator;
+        private boolean done;
+
+        CursorSubscription(Subscriber<? super E> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    emit();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            try {
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    finish();
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                if (iterator == null) {
+                    stream = source.get();
+                    iterator = stream.iterator();
+                }
+                long emitted = 0;
+                long demand = requested.get();
+                while (emitted < demand && !cancelled && iterator.hasNext()) {
+                    subscriber.onNext(iterator.next());
+                    if (++emitted == demand) {
+                        demand = requested.addAndGet(-emitted);
+                        emitted = 0;
+                    }
+                }
+                if (emitted > 0) {
+                    requested.addAndGet(-emitted);
+                }
+                if (cancelled) {
+                    finish();
+                } else if (!iterator.hasNext()) {
+                    finish();
+                    subscriber.onComplete();
+                }
+            } catch (RuntimeException e) {
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
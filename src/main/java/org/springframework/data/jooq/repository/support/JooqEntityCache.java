@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+import org.jooq.Record;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Transaction-aware cache of records by primary key backing {@link org.springframework.data.jooq.repository.EntityCache}.
+ * <p>
+ * Evictions requested within a transaction are applied once it commits. Until then the evicted keys bypass the cache
+ * for the transaction which changed them, so it reads its own writes.
+ * </p>
+ * <p>
+ * Every eviction advances the generation of its key. A reader takes the generation before it reads a record from the
+ * database and the record is only cached if the key has not been evicted since, so a record read before a concurrent
+ * transaction committed cannot overwrite its eviction. Generations are kept per stripe of keys, so an eviction may
+ * occasionally keep an unrelated record from being cached.
+ * </p>
+ *
+ * @author Johannes Buehler
+ */
+public class JooqEntityCache<R extends Record> {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final Cache<Object, R> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Creates a new {@link JooqEntityCache} with the given specification.
+     *
+     * @param spec must not be {@literal null}.
+     */
+    public JooqEntityCache(String spec) {
+        Assert.notNull(spec, "Cache specification must not be null!");
+        this.cache = CacheBuilder.from(CacheBuilderSpec.parse(spec)).recordStats().build();
+    }
+
+    /**
+     * Returns the cached record for the given key.
+     *
+     * @param key must not be {@literal null}.
+     * @return the record or {@literal null} if it is not cached or has been changed by the current transaction.
+     */
+    public R get(Object key) {
+        return isEvictionPending(key) ? null : cache.getIfPresent(key);
+    }
+
+    /**
+     * Returns the current generation of the given key, to be taken before its record is read from the database.
+     *
+     * @param key must not be {@literal null}.
+     * @return the generation to pass to {@link #put(Object, Record, long)}.
+     */
+    public long generation(Object key) {
+        return generations.get(stripe(key));
+    }
+
+    /**
+     * Caches the given record unless its key has been changed by the current transaction or evicted since the given
+     * generation was taken.
+     *
+     * @param key        must not be {@literal null}.
+     * @param record     must not be {@literal null}.
+     * @param generation the {@link #generation(Object) generation} of the key before the record was read.
+     */
+    public void put(Object key, R record, long generation) {
+        if (isEvictionPending(key) || generation(key) != generation) {
+            return;
+        }
+        cache.put(key, record);
+        if (generation(key) != generation) {
+            // Evicted between the check and the put, which the eviction may not have seen.
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Evicts the given key once the current transaction commits, or immediately if there is none.
+     *
+     * @param key must not be {@literal null}.
+     */
+    public void evict(Object key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingEvictions().keys.add(key);
+        } else {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Removes all entries from the cache once the current transaction commits, or immediately if there is none.
+     */
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingEvictions().all = true;
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the approximate number of cached records.
+     *
+     * @return
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the hit and miss statistics of the cache.
+     *
+     * @return
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void invalidate(Object key) {
+        // The generation advances first, so a concurrent put either sees it or is invalidated afterwards.
+        generations.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    private void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    private static int stripe(Object key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private boolean isEvictionPending(Object key) {
+        PendingEvictions pending = (PendingEvictions) TransactionSynchronizationManager.getResource(this);
+        return pending != null && (pending.all || pending.keys.contains(key));
+    }
+
+    private PendingEvictions pendingEvictions() {
+        PendingEvictions evictions = (PendingEvictions) TransactionSynchronizationManager.getResource(this);
+        if (evictions == null) {
+            PendingEvictions pending = new PendingEvictions();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JooqEntityCache.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(JooqEntityCache.this, pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JooqEntityCache.this);
+                    if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                        return;
+                    }
+                    if (pending.all) {
+                        invalidateAll();
+                    } else {
+                        pending.keys.forEach(JooqEntityCache.this::invalidate);
+                    }
+                }
+            });
+            evictions = pending;
+        }
+        return evictions;
+    }
+
+    private static class PendingEvictions {
+
+        private final Set<Object> keys = new HashSet<>();
+        private boolean all;
+    }
+}
@@ -1,5 +1,6 @@
 package org.springframework.data.jooq.repository.support;
 
+import org.jooq.DSLContext;
 import org.jooq.RecordMapper;
 import org.jooq.Table;
 import org.jooq.UpdatableRecord;
@@ -43,6 +44,32 @@ public interface JooqEntityInformation<R extends UpdatableRecord<R>, T extends T
 
    RecordMapper<R,E> mapper();
 
+    /**
+     * Creates a new record attached to the given context holding the values of the given entity.
+     *
+     * @param context must not be {@literal null}.
+     * @param entity must not be {@literal null}.
+     * @return
+     */
+    R newRecord(DSLContext context, E entity);
+
+    /**
+     * Copies the values of the given entity into the given record, marking them as changed.
+     *
+     * @param entity must not be {@literal null}.
+     * @param record must not be {@literal null}.
+     */
+    void unmap(E entity, R record);
+
+    /**
+     * Copies the values of the given record into the given entity.
+     *
+     * @param record must not be {@literal null}.
+     * @param entity must not be {@literal null}.
+     * @return the given entity.
+     */
+    <S extends E> S into(R record, S entity);
+
    T table();
 
     boolean isNew(E entity);
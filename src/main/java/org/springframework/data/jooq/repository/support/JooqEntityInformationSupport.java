@@ -17,8 +17,10 @@ package org.springframework.data.jooq.repository.support;
 
 import org.jooq.DSLContext;
 import org.jooq.RecordMapper;
+import org.jooq.RecordMapperProvider;
 import org.jooq.Table;
 import org.jooq.UpdatableRecord;
+import org.jooq.impl.DefaultRecordMapperProvider;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jooq.repository.support.query.DefaultJooqEntityMetadata;
 import org.springframework.data.jooq.repository.support.query.JooqEntityMetadata;
@@ -38,25 +40,56 @@ public abstract class JooqEntityInformationSupport<R extends UpdatableRecord<R>,
 
     private JooqEntityMetadata<E> metadata;
     private RecordMapper<R, E> mapper;
+    private LambdaRecordMapper<R, E> generatedMapper;
     private T table;
 
 
     public JooqEntityInformationSupport(Class<E> domainClass, DSLContext context) {
+        this(domainClass, JooqEntityInformationSupport.<T> resolveTable(domainClass), context);
+    }
+
+    /**
+     * Creates a new {@link JooqEntityInformationSupport} for the given domain class mapped to the given table.
+     *
+     * @param domainClass must not be {@literal null}.
+     * @param table must not be {@literal null}.
+     * @param context must not be {@literal null}.
+     */
+    protected JooqEntityInformationSupport(Class<E> domainClass, T table, DSLContext context) {
         super(domainClass);
+        Assert.notNull(table, "Table must not be null!");
         this.metadata = new DefaultJooqEntityMetadata<E>(domainClass);
+        this.table = table;
+        RecordMapperProvider provider = context.configuration().recordMapperProvider();
+        // Custom providers take precedence over the generated mapper.
+        if (provider instanceof DefaultRecordMapperProvider) {
+            generatedMapper = LambdaRecordMapper.create(table, domainClass);
+        }
+        mapper = generatedMapper != null ? generatedMapper : provider.provide(table.recordType(), domainClass);
+    }
+
+    /**
+     * Returns the name of the generated table class of the given domain class, i.e. the class named like the domain
+     * class in the parent package of the domain class's package.
+     *
+     * @param domainClass must not be {@literal null}.
+     * @return the fully qualified class name.
+     */
+    static String tableClassName(Class<?> domainClass) {
         String entityPackage = domainClass.getPackage().getName();
         int lastIndexOf = entityPackage.lastIndexOf('.');
-        String name = domainClass.getSimpleName();
-        String tableClassName = entityPackage.substring(0, lastIndexOf + 1) + name;
+        return entityPackage.substring(0, lastIndexOf + 1) + domainClass.getSimpleName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T resolveTable(Class<?> domainClass) {
         try {
-            Class<?> tableClass = Class.forName(tableClassName);
-            Field field = tableClass.getField(name.toUpperCase());
-            table = (T) field.get(null);
-            mapper = context.configuration().recordMapperProvider().provide(table.recordType(), domainClass);
+            Class<?> tableClass = Class.forName(tableClassName(domainClass));
+            Field field = tableClass.getField(domainClass.getSimpleName().toUpperCase());
+            return (T) field.get(null);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-
     }
 
     /**
@@ -66,14 +99,28 @@ public abstract class JooqEntityInformationSupport<R extends UpdatableRecord<R>,
      * @param dslContext  must not be {@literal null}.
      * @return
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
     public static <R extends UpdatableRecord<R>,J extends Table<R>,E> JooqEntityInformation<R,J,E, ?> getEntityInformation(Class<E> domainClass, DSLContext dslContext) {
+        return getEntityInformation(domainClass, null, dslContext);
+    }
+
+    /**
+     * Creates a {@link JooqEntityInformation} for the given domain class mapped to the given table.
+     *
+     * @param domainClass must not be {@literal null}.
+     * @param table the table of the domain class, {@literal null} to resolve it from the generated table class.
+     * @param dslContext must not be {@literal null}.
+     * @return
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static <R extends UpdatableRecord<R>,J extends Table<R>,E> JooqEntityInformation<R,J,E, ?> getEntityInformation(Class<E> domainClass, Table<?> table, DSLContext dslContext) {
 
         Assert.notNull(domainClass);
         Assert.notNull(dslContext);
 
         if (Persistable.class.isAssignableFrom(domainClass)) {
-            return new JooqPersistableEntityInformation(domainClass, dslContext);
+            return table == null
+                    ? new JooqPersistableEntityInformation(domainClass, dslContext)
+                    : new JooqPersistableEntityInformation(domainClass, table, dslContext);
         } else {
             throw new UnsupportedOperationException("Not yet implemented");
         }
@@ -92,6 +139,30 @@ public abstract class JooqEntityInformationSupport<R extends UpdatableRecord<R>,
         return mapper;
     }
 
+    @Override
+    public R newRecord(DSLContext context, E entity) {
+        if (generatedMapper == null) {
+            return context.newRecord(table, entity);
+        }
+        R record = context.newRecord(table);
+        generatedMapper.unmap(entity, record);
+        return record;
+    }
+
+    @Override
+    public void unmap(E entity, R record) {
+        if (generatedMapper == null) {
+            record.from(entity);
+        } else {
+            generatedMapper.unmap(entity, record);
+        }
+    }
+
+    @Override
+    public <S extends E> S into(R record, S entity) {
+        return generatedMapper == null ? record.into(entity) : generatedMapper.into(record, entity);
+    }
+
     @Override
     public T table() {
         return table;
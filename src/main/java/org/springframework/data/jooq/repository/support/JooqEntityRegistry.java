@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.jooq.Catalog;
+import org.jooq.DSLContext;
+import org.jooq.Schema;
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link JooqEntityInformation} and table metadata of domain classes, shared by all repositories of a
+ * {@link JooqRepositoryFactory} and, when configured through
+ * {@link org.springframework.data.jooq.repository.config.EnableJooqRepositories}, by all factories of a
+ * configuration. Every domain class is resolved once.
+ * <p>
+ * Tables are looked up in the generated catalogs rather than resolved class by class. The {@code DefaultCatalog}
+ * generated next to the {@code tables} package of a domain class is indexed on first use of the package, other
+ * catalogs can be {@link #index(Catalog) indexed} up front. Domain classes whose table isn't part of a catalog fall back
+ * to the generated table class.
+ * </p>
+ * All repositories sharing a registry must use the same dialect and {@link org.jooq.RecordMapperProvider}.
+ *
+ * @author Johannes Buehler
+ */
+public class JooqEntityRegistry {
+
+    private static final String DEFAULT_CATALOG_CLASS_NAME = "DefaultCatalog";
+    private static final String DEFAULT_CATALOG_FIELD_NAME = "DEFAULT_CATALOG";
+    private static final String TABLES_PACKAGE_SUFFIX = ".tables";
+
+    private final Map<String, Table<?>> tables = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> indexedPackages = new ConcurrentHashMap<>();
+    private final Map<Class<?>, JooqEntityInformation<?, ?, ?, ?>> entityInformation = new ConcurrentHashMap<>();
+    private final Map<Class<?>, JooqTableMetadata<?>> tableMetadata = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link JooqEntityRegistry} discovering the generated catalogs of the domain classes.
+     */
+    public JooqEntityRegistry() {
+    }
+
+    /**
+     * Creates a new {@link JooqEntityRegistry} indexing the given catalogs.
+     *
+     * @param catalogs must not be {@literal null}.
+     */
+    public JooqEntityRegistry(Catalog... catalogs) {
+        Assert.notNull(catalogs, "Catalogs must not be null!");
+        for (Catalog catalog : catalogs) {
+            index(catalog);
+        }
+    }
+
+    /**
+     * Indexes the tables of all schemas of the given catalog by their generated class.
+     *
+     * @param catalog must not be {@literal null}.
+     */
+    public void index(Catalog catalog) {
+        Assert.notNull(catalog, "Catalog must not be null!");
+        for (Schema schema : catalog.getSchemas()) {
+            for (Table<?> table : schema.getTables()) {
+                tables.putIfAbsent(table.getClass().getName(), table);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link JooqEntityInformation} of the given domain class, creating it on first use.
+     *
+     * @param domainClass must not be {@literal null}.
+     * @param dslContext must not be {@literal null}.
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends UpdatableRecord<R>, J extends Table<R>, E> JooqEntityInformation<R, J, E, ?> getEntityInformation(
+            Class<E> domainClass, DSLContext dslContext) {
+        Assert.notNull(domainClass, "Domain class must not be null!");
+        Assert.notNull(dslContext, "DSLContext must not be null!");
+        return (JooqEntityInformation<R, J, E, ?>) entityInformation.computeIfAbsent(domainClass,
+                type -> JooqEntityInformationSupport.getEntityInformation(type, table(type), dslContext));
+    }
+
+    @SuppressWarnings("unchecked")
+    <R extends UpdatableRecord<R>> JooqTableMetadata<R> getTableMetadata(JooqEntityInformation<R, ?, ?, ?> information,
+            DSLContext dslContext) {
+        return (JooqTableMetadata<R>) tableMetadata.computeIfAbsent(information.getJavaType(),
+                type -> new JooqTableMetadata<>(dslContext, information.table(), type));
+    }
+
+    /**
+     * Returns the catalog table of the given domain class.
+     *
+     * @return the table or {@literal null} if it isn't part of an indexed catalog.
+     */
+    Table<?> table(Class<?> domainClass) {
+        String tableClassName = JooqEntityInformationSupport.tableClassName(domainClass);
+        Table<?> table = tables.get(tableClassName);
+        if (table == null) {
+            String tablesPackage = ClassUtils.getPackageName(tableClassName);
+            String rootPackage = tablesPackage.endsWith(TABLES_PACKAGE_SUFFIX)
+                    ? tablesPackage.substring(0, tablesPackage.length() - TABLES_PACKAGE_SUFFIX.length())
+                    : tablesPackage;
+            indexedPackages.computeIfAbsent(rootPackage, name -> indexDefaultCatalog(name, domainClass.getClassLoader()));
+            table = tables.get(tableClassName);
+        }
+        return table;
+    }
+
+    private boolean indexDefaultCatalog(String rootPackage, ClassLoader classLoader) {
+        String catalogClassName = rootPackage.isEmpty() ? DEFAULT_CATALOG_CLASS_NAME : rootPackage + "." + DEFAULT_CATALOG_CLASS_NAME;
+        if (!ClassUtils.isPresent(catalogClassName, classLoader)) {
+            return false;
+        }
+        Field field = ReflectionUtils.findField(ClassUtils.resolveClassName(catalogClassName, classLoader), DEFAULT_CATALOG_FIELD_NAME);
+        Object catalog = field == null ? null : ReflectionUtils.getField(field, null);
+        if (catalog instanceof Catalog) {
+            index((Catalog) catalog);
+            return true;
+        }
+        return false;
+    }
+}
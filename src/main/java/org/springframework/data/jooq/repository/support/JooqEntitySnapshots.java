@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import com.google.common.collect.MapMaker;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Snapshots of the column values of entities as they were loaded or last saved, used by {@link SaveMode#SNAPSHOT}
+ * to update only the changed columns. Entities are held weakly and compared by identity, so a snapshot lives exactly
+ * as long as its entity.
+ * <p>
+ * Snapshots taken within a transaction are only visible to that transaction until it commits. If it rolls back, the
+ * snapshots of the entities it loaded or saved are dropped, as the entities may no longer match their rows.
+ * </p>
+ *
+ * @author Johannes Buehler
+ */
+class JooqEntitySnapshots<R extends Record> {
+
+    private final ConcurrentMap<Object, Object[]> snapshots = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Remembers the values of the given record as the snapshot of the given entity.
+     *
+     * @param entity must not be {@literal null}.
+     * @param record must not be {@literal null}.
+     */
+    void put(Object entity, R record) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            staged().put(entity, record.intoArray());
+        } else {
+            snapshots.put(entity, record.intoArray());
+        }
+    }
+
+    /**
+     * Returns the snapshot of the given entity.
+     *
+     * @param entity must not be {@literal null}.
+     * @return the values of all fields or {@literal null} if the entity has not been loaded or saved.
+     */
+    Object[] get(Object entity) {
+        @SuppressWarnings("unchecked")
+        Map<Object, Object[]> staged = (Map<Object, Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (staged != null && staged.containsKey(entity)) {
+            return staged.get(entity);
+        }
+        return snapshots.get(entity);
+    }
+
+    /**
+     * Returns the snapshots taken within the current transaction, which are published when it commits.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object[]> staged() {
+        Map<Object, Object[]> staged = (Map<Object, Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (staged != null) {
+            return staged;
+        }
+        Map<Object, Object[]> pending = new IdentityHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(JooqEntitySnapshots.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(JooqEntitySnapshots.this, pending);
+            }
+
+            @Override
+            public void afterCommit() {
+                snapshots.putAll(pending);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(JooqEntitySnapshots.this);
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    pending.keySet().forEach(snapshots::remove);
+                }
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * Marks all fields of the given record whose value equals the given original value as unchanged, so storing the
+     * record updates only the others.
+     *
+     * @param record must not be {@literal null}.
+     * @param original the original values of all fields of the record, must not be {@literal null}.
+     * @return whether any field has changed.
+     */
+    static boolean retainChanges(Record record, Object[] original) {
+        for (int i = 0; i < original.length; i++) {
+            if (Objects.deepEquals(record.get(i), original[i])) {
+                record.changed(i, false);
+            }
+        }
+        return record.changed();
+    }
+
+    /**
+     * Returns whether any of the given fields of the record has changed, e.g. whether its primary key differs from
+     * the one it was loaded with.
+     *
+     * @param record must not be {@literal null}.
+     * @param fields must not be {@literal null}.
+     * @return
+     */
+    static boolean isChanged(Record record, Field<?>[] fields) {
+        for (Field<?> field : fields) {
+            if (record.changed(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
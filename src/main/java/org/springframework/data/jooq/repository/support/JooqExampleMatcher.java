@@ -0,0 +1,271 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import static org.jooq.impl.DSL.*;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Query;
+import org.jooq.UpdatableRecord;
+import org.jooq.conf.ParamType;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.ExampleMatcher.NullHandler;
+import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.repository.core.support.ExampleMatcherAccessor;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Translates {@link Example}s into conditions on the probe's properties, pushing query by example down to SQL. The
+ * probe properties and the fields they map to are resolved once. The combination of properties matched by an example,
+ * together with their null handling, string matching and case sensitivity, forms its shape. The statements of a shape
+ * are rendered with placeholders once and cached, so repeated searches with different values only bind them.
+ *
+ * @author Johannes Buehler
+ */
+class JooqExampleMatcher<R extends UpdatableRecord<R>> {
+
+    /**
+     * The maximum number of shapes whose statements are cached.
+     */
+    static final int MAX_SHAPES = 256;
+
+    private static final String NOT_PRECOMPILED = "";
+
+    private final DSLContext jooq;
+    private final boolean precompile;
+    private final List<ProbeProperty> properties = new ArrayList<>();
+    private final Cache<String, Shape> shapes = CacheBuilder.newBuilder().maximumSize(MAX_SHAPES).build();
+
+    JooqExampleMatcher(DSLContext jooq, JooqTableMetadata<R> metadata, Class<?> domainClass) {
+        this.jooq = jooq;
+        // Plain SQL can only be used as long as jOOQ doesn't need to apply any custom bindings.
+        this.precompile = metadata.hasDefaultBindings();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(domainClass)) {
+            Field<?> field = metadata.fields().get(descriptor.getName());
+            if (field != null && descriptor.getReadMethod() != null) {
+                properties.add(new ProbeProperty(descriptor.getName(), descriptor.getReadMethod(), field));
+            }
+        }
+    }
+
+    /**
+     * Matches the probe of the given example against the table.
+     *
+     * @param example must not be {@literal null}.
+     * @return the shape and values of the example.
+     */
+    Match match(Example<?> example) {
+        Assert.notNull(example, "Example must not be null!");
+        Object probe = example.getProbe();
+        ExampleMatcher matcher = example.getMatcher();
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(matcher);
+
+        StringBuilder key = new StringBuilder(matcher.isAnyMatching() ? "any" : "all");
+        List<ShapePart> parts = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (ProbeProperty property : properties) {
+            if (accessor.isIgnoredPath(property.name)) {
+                continue;
+            }
+            Object value = accessor.getValueTransformerForPath(property.name)
+                    .convert(ReflectionUtils.invokeMethod(property.getter, probe));
+            if (value == null && accessor.getNullHandler() == NullHandler.IGNORE) {
+                continue;
+            }
+            boolean isString = String.class.equals(property.field.getType());
+            StringMatcher stringMatcher = isString ? accessor.getStringMatcherForPath(property.name) : StringMatcher.EXACT;
+            boolean ignoreCase = isString && accessor.isIgnoreCaseForPath(property.name);
+            ShapePart part = new ShapePart(property.field, value == null, stringMatcher, ignoreCase);
+            parts.add(part);
+            if (value != null) {
+                values.add(value);
+            }
+            key.append(',').append(property.name).append(':').append(part.key());
+        }
+        try {
+            Shape shape = shapes.get(key.toString(), () -> new Shape(parts, matcher.isAnyMatching()));
+            return new Match(shape, values.toArray());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * An example matched against the table: its cached shape and the values to bind.
+     */
+    class Match {
+
+        private final Shape shape;
+        private final Object[] values;
+
+        private Match(Shape shape, Object[] values) {
+            this.shape = shape;
+            this.values = values;
+        }
+
+        /**
+         * Returns the condition of the example binding its values.
+         *
+         * @return
+         */
+        Condition condition() {
+            return shape.condition(values);
+        }
+
+        /**
+         * Returns the SQL of the statement of the given kind for the shape of the example, rendering it on first use.
+         *
+         * @param kind identifies the statement among all statements of the shape.
+         * @param statement creates the statement for a condition.
+         * @return the SQL or {@literal null} if the statement can't be executed as plain SQL.
+         */
+        String sql(String kind, Function<Condition, ? extends Query> statement) {
+            if (!precompile) {
+                return null;
+            }
+            String sql = shape.statements.computeIfAbsent(kind, k -> {
+                Query query = statement.apply(shape.condition(null));
+                // Any value jOOQ binds on its own would shift the positions of the probe values.
+                return jooq.extractBindValues(query).size() == values.length ? query.getSQL(ParamType.INDEXED) : NOT_PRECOMPILED;
+            });
+            return sql == NOT_PRECOMPILED ? null : sql;
+        }
+
+        /**
+         * Returns the values to bind to the placeholders of {@link #sql(String, Function)}.
+         *
+         * @return
+         */
+        Object[] bindValues() {
+            Object[] bindValues = new Object[values.length];
+            int index = 0;
+            for (ShapePart part : shape.parts) {
+                if (!part.isNull) {
+                    bindValues[index] = part.field.getDataType().convert(values[index]);
+                    index++;
+                }
+            }
+            return bindValues;
+        }
+    }
+
+    private static class Shape {
+
+        final List<ShapePart> parts;
+        final boolean any;
+        final Map<String, String> statements = new ConcurrentHashMap<>();
+
+        Shape(List<ShapePart> parts, boolean any) {
+            this.parts = parts;
+            this.any = any;
+        }
+
+        /**
+         * Returns the condition binding the given values or, for {@literal null}, with placeholders.
+         */
+        Condition condition(Object[] values) {
+            if (parts.isEmpty()) {
+                return trueCondition();
+            }
+            List<Condition> conditions = new ArrayList<>(parts.size());
+            int index = 0;
+            for (ShapePart part : parts) {
+                if (part.isNull) {
+                    conditions.add(part.field.isNull());
+                } else {
+                    Field<Object> value = values == null
+                            ? param("p" + index, part.field.getDataType())
+                            : val(values[index], part.field);
+                    conditions.add(part.condition(value));
+                    index++;
+                }
+            }
+            return any ? or(conditions) : and(conditions);
+        }
+    }
+
+    private static class ShapePart {
+
+        final Field<Object> field;
+        final boolean isNull;
+        final StringMatcher stringMatcher;
+        final boolean ignoreCase;
+
+        @SuppressWarnings("unchecked")
+        ShapePart(Field<?> field, boolean isNull, StringMatcher stringMatcher, boolean ignoreCase) {
+            this.field = (Field<Object>) field;
+            this.isNull = isNull;
+            this.stringMatcher = stringMatcher;
+            this.ignoreCase = ignoreCase;
+        }
+
+        String key() {
+            return isNull ? "null" : stringMatcher + (ignoreCase ? ":ignoreCase" : "");
+        }
+
+        @SuppressWarnings("unchecked")
+        Condition condition(Field<Object> value) {
+            Field<Object> left = field;
+            Field<Object> right = value;
+            if (ignoreCase) {
+                left = (Field<Object>) (Field<?>) upper((Field<String>) (Field<?>) left);
+                right = (Field<Object>) (Field<?>) upper((Field<String>) (Field<?>) right);
+            }
+            switch (stringMatcher) {
+                case STARTING:
+                    return left.startsWith(right);
+                case ENDING:
+                    return left.endsWith(right);
+                case CONTAINING:
+                    return left.contains(right);
+                case REGEX:
+                    return left.likeRegex((Field<String>) (Field<?>) right);
+                default:
+                    return left.eq(right);
+            }
+        }
+    }
+
+    private static class ProbeProperty {
+
+        final String name;
+        final Method getter;
+        final Field<?> field;
+
+        ProbeProperty(String name, Method getter, Field<?> field) {
+            this.name = name;
+            this.getter = getter;
+            this.field = field;
+        }
+    }
+}
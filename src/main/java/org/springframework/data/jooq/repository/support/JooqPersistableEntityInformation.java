@@ -41,6 +41,17 @@ public class JooqPersistableEntityInformation<R extends UpdatableRecord<R>, T ex
 		super(domainClass, context);
 	}
 
+	/**
+	 * Creates a new {@link JooqPersistableEntityInformation} for the given domain class mapped to the given table.
+	 *
+	 * @param domainClass must not be {@literal null}.
+	 * @param table must not be {@literal null}.
+	 * @param context must not be {@literal null}.
+	 */
+	public JooqPersistableEntityInformation(Class<E> domainClass, T table, DSLContext context) {
+		super(domainClass, table, context);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.jpa.repository.support.JpaMetamodelEntityInformation#getId(java.lang.Object)
@@ -50,6 +61,20 @@ public class JooqPersistableEntityInformation<R extends UpdatableRecord<R>, T ex
 		return entity.getId();
 	}
 
+	/**
+	 * Returns whether the given entity is new as reported by {@link Persistable#isNew()}, rather than by a {@literal null}
+	 * id as {@link org.springframework.data.repository.core.support.AbstractEntityInformation} does. Entities with an
+	 * assigned id can thus be new, e.g. when their version is still unset. New entities are inserted without looking up
+	 * their row first, all others are updated if their row exists and inserted otherwise.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @return whether the entity is new.
+	 */
+	@Override
+	public boolean isNew(E entity) {
+		return entity.isNew();
+	}
+
 	@Override
 	public Class<ID> getIdType() {
 		return null;
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.model.PreferredConstructorDiscoverer;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.ProjectionInformation;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps records to a projection of an entity, resolved once per projection type. Only the columns of the projected
+ * properties are selected and no entity is created:
+ * <ul>
+ * <li>a closed interface projection is backed by a map of the projected property values,</li>
+ * <li>a DTO is created through its preferred constructor, matching parameter names to properties, or, if that
+ * constructor takes no arguments, populated through the setters of its properties.</li>
+ * </ul>
+ * Open interface projections may evaluate expressions against any property, so they select all columns and are
+ * backed by the full entity.
+ *
+ * @author Johannes Buehler
+ */
+class JooqProjection<R extends UpdatableRecord<R>, E, P> implements RecordMapper<Record, P> {
+
+    private final Class<P> type;
+    private final Table<R> table;
+    private final RecordMapper<R, E> entityMapper;
+    private final ProjectionFactory projectionFactory;
+
+    private final boolean open;
+    private final String[] properties;
+    private final Field<?>[] fields;
+    private final Class<?>[] types;
+    private final Constructor<P> constructor;
+    private final Method[] setters;
+
+    @SuppressWarnings("unchecked")
+    JooqProjection(Class<P> type, JooqTableMetadata<R> metadata, Table<R> table, RecordMapper<R, E> entityMapper,
+            ProjectionFactory projectionFactory) {
+
+        this.type = type;
+        this.table = table;
+        this.entityMapper = entityMapper;
+        this.projectionFactory = projectionFactory;
+
+        List<String> properties = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>();
+        List<Method> setters = new ArrayList<>();
+        Constructor<P> constructor = null;
+
+        if (type.isInterface()) {
+            ProjectionInformation information = projectionFactory.getProjectionInformation(type);
+            this.open = !information.isClosed();
+            if (!open) {
+                for (PropertyDescriptor descriptor : information.getInputProperties()) {
+                    properties.add(descriptor.getName());
+                    types.add(descriptor.getPropertyType());
+                }
+            }
+        } else {
+            this.open = false;
+            PreferredConstructor<P, ?> preferred = new PreferredConstructorDiscoverer<>(type).getConstructor();
+            if (preferred == null) {
+                throw new IllegalArgumentException(String.format("No constructor to create projection %s with.", type.getName()));
+            }
+            constructor = preferred.getConstructor();
+            ReflectionUtils.makeAccessible(constructor);
+            if (preferred.hasParameters()) {
+                for (PreferredConstructor.Parameter<Object, ?> parameter : preferred.getParameters()) {
+                    if (parameter.getName() == null) {
+                        throw new IllegalArgumentException(String.format(
+                                "Unable to discover constructor parameter names of projection %s.", type.getName()));
+                    }
+                    properties.add(parameter.getName());
+                    types.add(parameter.getRawType());
+                }
+            } else {
+                for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+                    if (descriptor.getWriteMethod() != null && metadata.field(descriptor.getName()) != null) {
+                        properties.add(descriptor.getName());
+                        types.add(descriptor.getPropertyType());
+                        setters.add(descriptor.getWriteMethod());
+                    }
+                }
+            }
+        }
+
+        this.properties = properties.toArray(new String[properties.size()]);
+        this.types = types.toArray(new Class<?>[types.size()]);
+        this.setters = setters.toArray(new Method[setters.size()]);
+        this.constructor = constructor;
+
+        if (open) {
+            this.fields = table.fields();
+        } else if (this.properties.length == 0) {
+            throw new IllegalArgumentException(String.format("Projection %s has no properties to select.", type.getName()));
+        } else {
+            this.fields = new Field<?>[this.properties.length];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = metadata.field(this.properties[i]);
+                if (fields[i] == null) {
+                    throw new IllegalArgumentException(String.format("No column of table %s maps property %s of projection %s.",
+                            table.getName(), this.properties[i], type.getName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the columns to select for this projection.
+     *
+     * @return
+     */
+    Field<?>[] fields() {
+        return fields;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.jooq.RecordMapper#map(org.jooq.Record)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public P map(Record record) {
+        if (open) {
+            R entityRecord = table.getRecordType().isInstance(record) ? (R) record : record.into(table);
+            return projectionFactory.createProjection(type, entityMapper.map(entityRecord));
+        }
+        if (constructor == null) {
+            Map<String, Object> values = new HashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                values.put(properties[i], record.get(fields[i], types[i]));
+            }
+            return projectionFactory.createProjection(type, values);
+        }
+        if (setters.length == 0) {
+            Object[] arguments = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                arguments[i] = record.get(fields[i], types[i]);
+            }
+            return BeanUtils.instantiateClass(constructor, arguments);
+        }
+        P projection = BeanUtils.instantiateClass(constructor);
+        for (int i = 0; i < fields.length; i++) {
+            ReflectionUtils.invokeMethod(setters[i], projection, record.get(fields[i], types[i]));
+        }
+        return projection;
+    }
+}
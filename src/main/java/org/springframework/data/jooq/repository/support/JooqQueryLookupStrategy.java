@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.jooq.DSLContext;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * {@link QueryLookupStrategy} deriving {@link PartTreeJooqQuery queries} from the names of query methods. jOOQ
+ * repositories have no declared queries, so {@link Key#CREATE} and {@link Key#CREATE_IF_NOT_FOUND} behave the same and
+ * {@link Key#USE_DECLARED_QUERY} rejects every query method.
+ *
+ * @author Johannes Buehler
+ */
+class JooqQueryLookupStrategy implements QueryLookupStrategy {
+
+    private final JooqEntityRegistry registry;
+    private final DSLContext jooq;
+    private final Key key;
+    private final int fetchSize;
+    private final Function<RepositoryMetadata, JooqEntityCache<?>> entityCaches;
+
+    JooqQueryLookupStrategy(JooqEntityRegistry registry, DSLContext jooq, Key key, int fetchSize,
+            Function<RepositoryMetadata, JooqEntityCache<?>> entityCaches) {
+        this.registry = registry;
+        this.jooq = jooq;
+        this.key = key == null ? Key.CREATE_IF_NOT_FOUND : key;
+        this.fetchSize = fetchSize;
+        this.entityCaches = entityCaches;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.QueryLookupStrategy#resolveQuery(java.lang.reflect.Method, org.springframework.data.repository.core.RepositoryMetadata, org.springframework.data.projection.ProjectionFactory, org.springframework.data.repository.core.NamedQueries)
+     */
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public RepositoryQuery resolveQuery(Method method, RepositoryMetadata repositoryMetadata,
+            ProjectionFactory projectionFactory, NamedQueries namedQueries) {
+
+        if (key == Key.USE_DECLARED_QUERY) {
+            throw new IllegalStateException(String.format(
+                    "Did not find a declared query for method %s, jOOQ repositories only support derived queries.", method));
+        }
+        Class<?> domainType = repositoryMetadata.getDomainType();
+        JooqEntityInformation information = registry.getEntityInformation(domainType, jooq);
+        JooqTableMetadata tableMetadata = registry.getTableMetadata(information, jooq);
+
+        QueryMethod queryMethod = new QueryMethod(method, repositoryMetadata, projectionFactory);
+        return new PartTreeJooqQuery(queryMethod, jooq, information, tableMetadata, projectionFactory, fetchSize,
+                entityCaches.apply(repositoryMetadata));
+    }
+}
@@ -15,16 +15,51 @@
  */
 package org.springframework.data.jooq.repository.support;
 
+import org.jooq.Configuration;
 import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.Record;
+import org.jooq.UpdatableRecord;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.jooq.repository.AsyncJooqRepository;
+import org.springframework.data.jooq.repository.EntityCache;
 import org.springframework.data.jooq.repository.JooqRepository;
+import org.springframework.data.jooq.repository.ReactiveJooqRepository;
+import org.springframework.data.jooq.repository.metrics.RepeatedStatementDetector;
+import org.springframework.data.jooq.repository.metrics.RepositoryMetricsInterceptor;
+import org.springframework.data.jooq.repository.metrics.RepositoryMetricsListener;
+import org.springframework.data.jooq.repository.metrics.RepositoryMetricsRegistry;
+import org.springframework.data.jooq.repository.routing.ReadReplicas;
+import org.springframework.data.jooq.repository.routing.ReplicaReadTransactionInterceptor;
+import org.springframework.data.jooq.repository.routing.ReplicaRoutingInterceptor;
 import org.springframework.data.repository.core.EntityInformation;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.data.repository.query.EvaluationContextProvider;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.data.util.ReflectionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
 import org.springframework.util.Assert;
 
 import javax.persistence.EntityManager;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * JPA specific generic repository factory.
@@ -34,7 +69,22 @@ import java.io.Serializable;
 public class JooqRepositoryFactory extends RepositoryFactorySupport {
 
     private final DSLContext dslContext;
-
+    private int batchSize = SimpleJooqRepository.DEFAULT_BATCH_SIZE;
+    private SaveMode saveMode = SaveMode.FETCH_AND_STORE;
+    private int fetchSize;
+    private int maxInListSize = SimpleJooqRepository.DEFAULT_MAX_IN_LIST_SIZE;
+    private CountStrategy countStrategy = CountStrategy.QUERY;
+    private long countCacheTtl = SimpleJooqRepository.DEFAULT_COUNT_CACHE_TTL;
+    private Executor asyncExecutor = AsyncExecutors.defaultExecutor();
+    private Executor reactiveExecutor = AsyncExecutors.defaultExecutor();
+    private PlatformTransactionManager transactionManager;
+    private RepositoryMetricsRegistry metricsRegistry;
+    private RepeatedStatementDetector repeatedStatementDetector;
+    private ReadReplicas readReplicas;
+    private WriteBehindBuffer writeBehindBuffer;
+    private JooqEntityRegistry entityRegistry = new JooqEntityRegistry();
+    private DSLContext instrumentedDslContext;
+    private final Map<Class<?>, JooqEntityCache<?>> entityCaches = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@link JooqRepositoryFactory}.
@@ -47,6 +97,170 @@ public class JooqRepositoryFactory extends RepositoryFactorySupport {
 
     }
 
+    /**
+     * Configures the number of entities the created repositories write per JDBC batch.
+     *
+     * @param batchSize must be greater than zero.
+     * @see SimpleJooqRepository#setBatchSize(int)
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Configures the statements the created repositories issue when saving existing entities.
+     *
+     * @param saveMode must not be {@literal null}.
+     * @see SimpleJooqRepository#setSaveMode(SaveMode)
+     */
+    public void setSaveMode(SaveMode saveMode) {
+        Assert.notNull(saveMode, "Save mode must not be null!");
+        this.saveMode = saveMode;
+    }
+
+    /**
+     * Configures the JDBC fetch size the created repositories use for streaming finders.
+     *
+     * @param fetchSize must not be negative.
+     * @see SimpleJooqRepository#setFetchSize(int)
+     */
+    public void setFetchSize(int fetchSize) {
+        Assert.isTrue(fetchSize >= 0, "Fetch size must not be negative!");
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Configures the maximum number of IDs the created repositories render into a single {@code IN} list.
+     *
+     * @param maxInListSize must be greater than zero.
+     * @see SimpleJooqRepository#setMaxInListSize(int)
+     */
+    public void setMaxInListSize(int maxInListSize) {
+        Assert.isTrue(maxInListSize > 0, "Maximum IN list size must be greater than zero!");
+        this.maxInListSize = maxInListSize;
+    }
+
+    /**
+     * Configures how the created repositories count the entities of a page.
+     *
+     * @param countStrategy must not be {@literal null}.
+     * @see SimpleJooqRepository#setCountStrategy(CountStrategy)
+     */
+    public void setCountStrategy(CountStrategy countStrategy) {
+        Assert.notNull(countStrategy, "Count strategy must not be null!");
+        this.countStrategy = countStrategy;
+    }
+
+    /**
+     * Configures the time to live in milliseconds of counts cached by {@link CountStrategy#CACHED}.
+     *
+     * @param countCacheTtl must not be negative.
+     * @see SimpleJooqRepository#setCountCacheTtl(long)
+     */
+    public void setCountCacheTtl(long countCacheTtl) {
+        Assert.isTrue(countCacheTtl >= 0, "Count cache time to live must not be negative!");
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    /**
+     * Configures the {@link Executor} the created {@link AsyncJooqRepository} instances run on.
+     *
+     * @param asyncExecutor must not be {@literal null}.
+     * @see SimpleAsyncJooqRepository#setExecutor(Executor)
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        Assert.notNull(asyncExecutor, "Executor must not be null!");
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Configures the {@link Executor} the created {@link ReactiveJooqRepository} instances read their cursors on.
+     *
+     * @param reactiveExecutor must not be {@literal null}.
+     * @see SimpleReactiveJooqRepository#setExecutor(Executor)
+     */
+    public void setReactiveExecutor(Executor reactiveExecutor) {
+        Assert.notNull(reactiveExecutor, "Executor must not be null!");
+        this.reactiveExecutor = reactiveExecutor;
+    }
+
+    /**
+     * Configures the {@link PlatformTransactionManager} the created {@link AsyncJooqRepository} instances demarcate
+     * their transactions and the created repositories their purge chunks with.
+     *
+     * @param transactionManager can be {@literal null}.
+     * @see SimpleAsyncJooqRepository#setTransactionManager(PlatformTransactionManager)
+     * @see SimpleJooqRepository#setTransactionManager(PlatformTransactionManager)
+     */
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Configures the {@link RepositoryMetricsRegistry} to report the invocations of the created repositories to.
+     * Registers a {@link RepositoryMetricsListener} with the jOOQ configuration and a
+     * {@link RepositoryMetricsInterceptor} with the synchronous repositories created.
+     *
+     * @param metricsRegistry must not be {@literal null}.
+     */
+    public void setMetricsRegistry(RepositoryMetricsRegistry metricsRegistry) {
+        Assert.notNull(metricsRegistry, "Metrics registry must not be null!");
+        Assert.state(this.metricsRegistry == null, "Metrics registry already configured!");
+        this.metricsRegistry = metricsRegistry;
+        addRepositoryProxyPostProcessor(new MetricsPostProcessor(metricsRegistry));
+    }
+
+    /**
+     * Configures a {@link RepeatedStatementDetector} to check the statements of the created repositories for N+1
+     * queries. Registers the detector with the jOOQ configuration the repositories use.
+     *
+     * @param repeatedStatementDetector must not be {@literal null}.
+     */
+    public void setRepeatedStatementDetector(RepeatedStatementDetector repeatedStatementDetector) {
+        Assert.notNull(repeatedStatementDetector, "Repeated statement detector must not be null!");
+        Assert.state(this.repeatedStatementDetector == null, "Repeated statement detector already configured!");
+        this.repeatedStatementDetector = repeatedStatementDetector;
+    }
+
+    /**
+     * Configures a {@link WriteBehindBuffer} the created repositories queue their writes in within read-write
+     * transactions. Registers the buffer with the jOOQ configuration the repositories use, so their statements flush
+     * the writes they depend on. The buffer should be shared by all repositories writing to related tables.
+     *
+     * @param writeBehindBuffer must not be {@literal null}.
+     */
+    public void setWriteBehindBuffer(WriteBehindBuffer writeBehindBuffer) {
+        Assert.notNull(writeBehindBuffer, "Write-behind buffer must not be null!");
+        Assert.state(this.writeBehindBuffer == null, "Write-behind buffer already configured!");
+        this.writeBehindBuffer = writeBehindBuffer;
+    }
+
+    /**
+     * Configures the {@link JooqEntityRegistry} the entity information of the created repositories is resolved from.
+     * Defaults to a registry of the factory's own.
+     *
+     * @param entityRegistry must not be {@literal null}.
+     */
+    public void setEntityRegistry(JooqEntityRegistry entityRegistry) {
+        Assert.notNull(entityRegistry, "Entity registry must not be null!");
+        this.entityRegistry = entityRegistry;
+    }
+
+    /**
+     * Configures the {@link ReadReplicas} the read-only methods of the created repositories are routed to. Registers a
+     * {@link ReplicaRoutingInterceptor} with the synchronous repositories created, asynchronous and reactive
+     * repositories always run on the primary.
+     *
+     * @param readReplicas must not be {@literal null}.
+     */
+    public void setReadReplicas(ReadReplicas readReplicas) {
+        Assert.notNull(readReplicas, "Read replicas must not be null!");
+        Assert.state(this.readReplicas == null, "Read replicas already configured!");
+        this.readReplicas = readReplicas;
+        addRepositoryProxyPostProcessor(new RoutingPostProcessor(readReplicas));
+    }
+
     /* 
      * (non-Javadoc)
      * @see org.springframework.data.repository.core.support.RepositoryFactorySupport#setBeanClassLoader(java.lang.ClassLoader)
@@ -56,9 +270,38 @@ public class JooqRepositoryFactory extends RepositoryFactorySupport {
         super.setBeanClassLoader(classLoader);
     }
 
+    /**
+     * Returns the repository proxy. With {@link ReadReplicas} configured, the transaction interceptor added by a
+     * {@link org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport} is decorated
+     * so reads routed to a replica don't begin a transaction on the primary.
+     */
+    @Override
+    public <T> T getRepository(Class<T> repositoryInterface, Object customImplementation) {
+        T repository = super.getRepository(repositoryInterface, customImplementation);
+        if (readReplicas != null && repository instanceof Advised) {
+            Advised advised = (Advised) repository;
+            for (Advisor advisor : advised.getAdvisors()) {
+                if (advisor instanceof PointcutAdvisor && advisor.getAdvice() instanceof TransactionInterceptor) {
+                    advised.replaceAdvisor(advisor, new DefaultPointcutAdvisor(((PointcutAdvisor) advisor).getPointcut(),
+                            new ReplicaReadTransactionInterceptor((TransactionInterceptor) advisor.getAdvice(), readReplicas)));
+                }
+            }
+        }
+        return repository;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.core.support.RepositoryFactorySupport#getQueryLookupStrategy(org.springframework.data.repository.query.QueryLookupStrategy.Key, org.springframework.data.repository.query.EvaluationContextProvider)
+     */
+    @Override
+    protected QueryLookupStrategy getQueryLookupStrategy(Key key, EvaluationContextProvider evaluationContextProvider) {
+        return new JooqQueryLookupStrategy(entityRegistry, dslContext(), key, fetchSize, this::entityCache);
+    }
+
     @Override
     public <E, ID extends Serializable> EntityInformation<E, ID> getEntityInformation(Class<E> domainClass) {
-        return (EntityInformation<E, ID>) JooqEntityInformationSupport.getEntityInformation(domainClass, dslContext);
+        return (EntityInformation<E, ID>) entityRegistry.getEntityInformation(domainClass, dslContext());
     }
 
 
@@ -69,12 +312,93 @@ public class JooqRepositoryFactory extends RepositoryFactorySupport {
     @Override
     protected Object getTargetRepository(RepositoryInformation information) {
 
-        SimpleJooqRepository<?, ?, ?, ?> repository = getTargetRepository(information, dslContext);
+        if (isAsync(information)) {
+            SimpleAsyncJooqRepository<?, ?, ?, ?> asyncRepository = getTargetRepositoryViaReflection(information, getDelegateRepository(information));
+            asyncRepository.setExecutor(asyncExecutor);
+            asyncRepository.setTransactionManager(transactionManager);
+            return asyncRepository;
+        }
+        if (isReactive(information)) {
+            SimpleReactiveJooqRepository<?, ?, ?, ?> reactiveRepository = getTargetRepositoryViaReflection(information, getDelegateRepository(information));
+            reactiveRepository.setExecutor(reactiveExecutor);
+            return reactiveRepository;
+        }
+        return configure(getTargetRepository(information, dslContext()), information);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private SimpleJooqRepository<?, ?, ?, ?> getDelegateRepository(RepositoryInformation information) {
+        JooqEntityInformation<?, ?, ?, Serializable> entityInformation = (JooqEntityInformation<?, ?, ?, Serializable>) getEntityInformation(information.getDomainType());
+        return configure(new SimpleJooqRepository(entityInformation, dslContext(), entityRegistry), information);
+    }
+
+    private DSLContext dslContext() {
+        if (metricsRegistry == null && repeatedStatementDetector == null && readReplicas == null && writeBehindBuffer == null) {
+            return dslContext;
+        }
+        if (instrumentedDslContext == null) {
+            Configuration configuration = readReplicas == null ? dslContext.configuration() : readReplicas.route(dslContext).configuration();
+            List<ExecuteListenerProvider> providers = new ArrayList<>(Arrays.asList(configuration.executeListenerProviders()));
+            if (writeBehindBuffer != null) {
+                providers.add(new DefaultExecuteListenerProvider(writeBehindBuffer));
+            }
+            if (repeatedStatementDetector != null) {
+                providers.add(new DefaultExecuteListenerProvider(repeatedStatementDetector));
+            }
+            if (metricsRegistry != null) {
+                providers.add(new DefaultExecuteListenerProvider(new RepositoryMetricsListener()));
+            }
+            instrumentedDslContext = DSL.using(configuration.derive(providers.toArray(new ExecuteListenerProvider[providers.size()])));
+        }
+        return instrumentedDslContext;
+    }
+
+    private SimpleJooqRepository<?, ?, ?, ?> configure(SimpleJooqRepository<?, ?, ?, ?> repository, RepositoryInformation information) {
+
+        repository.setBatchSize(batchSize);
+        repository.setSaveMode(saveMode);
+        repository.setFetchSize(fetchSize);
+        repository.setMaxInListSize(maxInListSize);
+        repository.setCountStrategy(countStrategy);
+        repository.setCountCacheTtl(countCacheTtl);
+        repository.setTransactionManager(transactionManager);
+        repository.setWriteBehind(writeBehindBuffer);
+        configureEntityCache(repository, information);
         //repository.setRepositoryMethodMetadata(crudMethodMetadataPostProcessor.getCrudMethodMetadata());
 
         return repository;
     }
 
+    private <R extends UpdatableRecord<R>> void configureEntityCache(SimpleJooqRepository<R, ?, ?, ?> repository, RepositoryMetadata metadata) {
+        JooqEntityCache<R> entityCache = entityCache(metadata);
+        if (entityCache != null) {
+            repository.setEntityCache(entityCache);
+        }
+    }
+
+    /**
+     * Returns the cache of the given repository, shared by the repository and its query methods, or {@literal null}
+     * if the repository is not annotated with {@link EntityCache}.
+     */
+    @SuppressWarnings("unchecked")
+    private <R extends Record> JooqEntityCache<R> entityCache(RepositoryMetadata metadata) {
+        Class<?> repositoryInterface = metadata.getRepositoryInterface();
+        EntityCache entityCache = AnnotationUtils.findAnnotation(repositoryInterface, EntityCache.class);
+        if (entityCache == null) {
+            return null;
+        }
+        return (JooqEntityCache<R>) entityCaches.computeIfAbsent(repositoryInterface,
+                type -> new JooqEntityCache<R>(entityCache.value()));
+    }
+
+    private static boolean isAsync(RepositoryMetadata metadata) {
+        return AsyncJooqRepository.class.isAssignableFrom(metadata.getRepositoryInterface());
+    }
+
+    private static boolean isReactive(RepositoryMetadata metadata) {
+        return ReactiveJooqRepository.class.isAssignableFrom(metadata.getRepositoryInterface());
+    }
+
     /**
      * Callback to create a {@link JooqRepository} instance with the given {@link EntityManager}
      *
@@ -88,6 +412,9 @@ public class JooqRepositoryFactory extends RepositoryFactorySupport {
             RepositoryInformation information, DSLContext dslContext) {
         JooqEntityInformation<?, ?, ?, Serializable> entityInformation = (JooqEntityInformation<?, ?, ?, Serializable>) getEntityInformation(information.getDomainType());
 
+        if (ReflectionUtils.findConstructor(information.getRepositoryBaseClass(), entityInformation, dslContext, entityRegistry) != null) {
+            return getTargetRepositoryViaReflection(information, entityInformation, dslContext, entityRegistry);
+        }
         return getTargetRepositoryViaReflection(information, entityInformation, dslContext);
     }
 
@@ -100,8 +427,44 @@ public class JooqRepositoryFactory extends RepositoryFactorySupport {
      */
     @Override
     protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
-        return SimpleJooqRepository.class;
+        if (isAsync(metadata)) {
+            return SimpleAsyncJooqRepository.class;
+        }
+        return isReactive(metadata) ? SimpleReactiveJooqRepository.class : SimpleJooqRepository.class;
     }
 
+    private static class MetricsPostProcessor implements RepositoryProxyPostProcessor {
+
+        private final RepositoryMetricsRegistry metricsRegistry;
+
+        MetricsPostProcessor(RepositoryMetricsRegistry metricsRegistry) {
+            this.metricsRegistry = metricsRegistry;
+        }
 
+        @Override
+        public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+            // Statements of asynchronous and reactive repositories run on other threads than their invocations
+            if (!isAsync(repositoryInformation) && !isReactive(repositoryInformation)) {
+                factory.addAdvice(new RepositoryMetricsInterceptor(repositoryInformation.getRepositoryInterface(), metricsRegistry));
+            }
+        }
+    }
+
+    private static class RoutingPostProcessor implements RepositoryProxyPostProcessor {
+
+        private final ReadReplicas readReplicas;
+
+        RoutingPostProcessor(ReadReplicas readReplicas) {
+            this.readReplicas = readReplicas;
+        }
+
+        @Override
+        public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+            // Asynchronous and reactive repositories run their statements on other threads than their invocations
+            if (!isAsync(repositoryInformation) && !isReactive(repositoryInformation)) {
+                factory.addAdvice(new ReplicaRoutingInterceptor(repositoryInformation.getRepositoryInterface(),
+                        repositoryInformation.getRepositoryBaseClass(), readReplicas));
+            }
+        }
+    }
 }
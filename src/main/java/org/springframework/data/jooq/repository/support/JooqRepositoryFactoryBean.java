@@ -16,15 +16,26 @@
 package org.springframework.data.jooq.repository.support;
 
 import org.jooq.DSLContext;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jooq.repository.metrics.RepeatedStatementDetector;
+import org.springframework.data.jooq.repository.metrics.RepositoryMetricsRegistry;
+import org.springframework.data.jooq.repository.routing.ReadReplicas;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
 import org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.Assert;
 
 import javax.persistence.EntityManager;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Special adapter for Springs {@link org.springframework.beans.factory.FactoryBean} interface to allow easy setup of
@@ -38,6 +49,27 @@ public class JooqRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extend
 		extends TransactionalRepositoryFactoryBeanSupport<T, S, ID> {
 
 	private DSLContext dslContext;
+	private Integer batchSize;
+	private SaveMode saveMode;
+	private Integer fetchSize;
+	private Integer maxInListSize;
+	private CountStrategy countStrategy;
+	private Long countCacheTtl;
+	private Executor asyncExecutor;
+	private Executor reactiveExecutor;
+	private RepositoryMetricsRegistry metricsRegistry;
+	private RepeatedStatementDetector repeatedStatementDetector;
+	private ReadReplicas readReplicas;
+	private WriteBehindBuffer writeBehindBuffer;
+	private JooqEntityRegistry entityRegistry;
+	private BootstrapMode bootstrapMode = BootstrapMode.DEFAULT;
+	private Executor bootstrapExecutor;
+	private String transactionManagerName;
+	private BeanFactory beanFactory;
+	private ClassLoader classLoader;
+
+	private CompletableFuture<T> initialization;
+	private T lazyRepository;
 
 	/**
 	 * Creates a new {@link JooqRepositoryFactoryBean} for the given repository interface.
@@ -58,6 +90,220 @@ public class JooqRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extend
 		this.dslContext = dslContext;
 	}
 
+	/**
+	 * The number of entities to write per JDBC batch, defaults to {@link SimpleJooqRepository#DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param batchSize the batchSize to set
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * The statements to issue when saving existing entities, defaults to {@link SaveMode#FETCH_AND_STORE}.
+	 *
+	 * @param saveMode the saveMode to set
+	 */
+	public void setSaveMode(SaveMode saveMode) {
+		this.saveMode = saveMode;
+	}
+
+	/**
+	 * The JDBC fetch size of streaming finders, defaults to the driver's default.
+	 *
+	 * @param fetchSize the fetchSize to set
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * The maximum number of IDs to render into a single {@code IN} list, defaults to
+	 * {@link SimpleJooqRepository#DEFAULT_MAX_IN_LIST_SIZE}.
+	 *
+	 * @param maxInListSize the maxInListSize to set
+	 */
+	public void setMaxInListSize(int maxInListSize) {
+		this.maxInListSize = maxInListSize;
+	}
+
+	/**
+	 * The way to count the entities of a page, defaults to {@link CountStrategy#QUERY}.
+	 *
+	 * @param countStrategy the countStrategy to set
+	 */
+	public void setCountStrategy(CountStrategy countStrategy) {
+		this.countStrategy = countStrategy;
+	}
+
+	/**
+	 * The time to live in milliseconds of counts cached by {@link CountStrategy#CACHED}.
+	 *
+	 * @param countCacheTtl the countCacheTtl to set
+	 */
+	public void setCountCacheTtl(long countCacheTtl) {
+		this.countCacheTtl = countCacheTtl;
+	}
+
+	/**
+	 * The {@link Executor} asynchronous repositories run on, defaults to {@link AsyncExecutors#defaultExecutor()}.
+	 *
+	 * @param asyncExecutor the asyncExecutor to set
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * The {@link Executor} reactive repositories read their cursors on, defaults to
+	 * {@link AsyncExecutors#defaultExecutor()}.
+	 *
+	 * @param reactiveExecutor the reactiveExecutor to set
+	 */
+	public void setReactiveExecutor(Executor reactiveExecutor) {
+		this.reactiveExecutor = reactiveExecutor;
+	}
+
+	/**
+	 * The {@link RepositoryMetricsRegistry} to report repository invocations to, none by default.
+	 *
+	 * @param metricsRegistry the metricsRegistry to set
+	 */
+	public void setMetricsRegistry(RepositoryMetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+	}
+
+	/**
+	 * The {@link RepeatedStatementDetector} to check repository statements for N+1 queries with, none by default.
+	 *
+	 * @param repeatedStatementDetector the repeatedStatementDetector to set
+	 */
+	public void setRepeatedStatementDetector(RepeatedStatementDetector repeatedStatementDetector) {
+		this.repeatedStatementDetector = repeatedStatementDetector;
+	}
+
+	/**
+	 * The {@link ReadReplicas} to route read-only repository methods to, none by default.
+	 *
+	 * @param readReplicas the readReplicas to set
+	 */
+	public void setReadReplicas(ReadReplicas readReplicas) {
+		this.readReplicas = readReplicas;
+	}
+
+	/**
+	 * The {@link WriteBehindBuffer} to queue repository writes in within read-write transactions, none by default.
+	 *
+	 * @param writeBehindBuffer the writeBehindBuffer to set
+	 */
+	public void setWriteBehindBuffer(WriteBehindBuffer writeBehindBuffer) {
+		this.writeBehindBuffer = writeBehindBuffer;
+	}
+
+	/**
+	 * The {@link JooqEntityRegistry} to resolve entity information from, a registry of the factory's own by default.
+	 *
+	 * @param entityRegistry the entityRegistry to set
+	 */
+	public void setEntityRegistry(JooqEntityRegistry entityRegistry) {
+		this.entityRegistry = entityRegistry;
+	}
+
+	/**
+	 * When to create the repository, defaults to {@link BootstrapMode#DEFAULT}.
+	 *
+	 * @param bootstrapMode the bootstrapMode to set
+	 */
+	public void setBootstrapMode(BootstrapMode bootstrapMode) {
+		Assert.notNull(bootstrapMode, "Bootstrap mode must not be null!");
+		this.bootstrapMode = bootstrapMode;
+	}
+
+	/**
+	 * The {@link Executor} to create the repository on in {@link BootstrapMode#BACKGROUND}, defaults to
+	 * {@link AsyncExecutors#defaultExecutor()}.
+	 *
+	 * @param bootstrapExecutor the bootstrapExecutor to set
+	 */
+	public void setBootstrapExecutor(Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport#setTransactionManager(java.lang.String)
+	 */
+	@Override
+	public void setTransactionManager(String transactionManager) {
+		super.setTransactionManager(transactionManager);
+		this.transactionManagerName = transactionManager;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport#setBeanClassLoader(java.lang.ClassLoader)
+	 */
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		super.setBeanClassLoader(classLoader);
+		this.classLoader = classLoader;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport#getObject()
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getObject() {
+
+		if (bootstrapMode == BootstrapMode.DEFAULT) {
+			return super.getObject();
+		}
+		synchronized (this) {
+			if (lazyRepository == null) {
+				ProxyFactory proxyFactory = new ProxyFactory();
+				proxyFactory.addInterface(getObjectType());
+				proxyFactory.setTargetSource(new RepositoryTargetSource());
+				lazyRepository = (T) proxyFactory.getProxy(classLoader);
+			}
+			return lazyRepository;
+		}
+	}
+
+	private T createRepository() {
+		return super.getObject();
+	}
+
+	private T getRepository() {
+
+		CompletableFuture<T> initialization;
+		synchronized (this) {
+			if (this.initialization == null) {
+				this.initialization = CompletableFuture.completedFuture(createRepository());
+			}
+			initialization = this.initialization;
+		}
+		try {
+			return initialization.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		super.setBeanFactory(beanFactory);
+		this.beanFactory = beanFactory;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport#setMappingContext(org.springframework.data.mapping.context.MappingContext)
@@ -75,7 +321,59 @@ public class JooqRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extend
 	 */
 	@Override
 	protected RepositoryFactorySupport doCreateRepositoryFactory() {
-		return createRepositoryFactory(dslContext);
+
+		RepositoryFactorySupport factory = createRepositoryFactory(dslContext);
+
+		if (factory instanceof JooqRepositoryFactory) {
+			configure((JooqRepositoryFactory) factory);
+		}
+		return factory;
+	}
+
+	private void configure(JooqRepositoryFactory factory) {
+
+		if (batchSize != null) {
+			factory.setBatchSize(batchSize);
+		}
+		if (saveMode != null) {
+			factory.setSaveMode(saveMode);
+		}
+		if (fetchSize != null) {
+			factory.setFetchSize(fetchSize);
+		}
+		if (maxInListSize != null) {
+			factory.setMaxInListSize(maxInListSize);
+		}
+		if (countStrategy != null) {
+			factory.setCountStrategy(countStrategy);
+		}
+		if (countCacheTtl != null) {
+			factory.setCountCacheTtl(countCacheTtl);
+		}
+		if (asyncExecutor != null) {
+			factory.setAsyncExecutor(asyncExecutor);
+		}
+		if (reactiveExecutor != null) {
+			factory.setReactiveExecutor(reactiveExecutor);
+		}
+		if (metricsRegistry != null) {
+			factory.setMetricsRegistry(metricsRegistry);
+		}
+		if (repeatedStatementDetector != null) {
+			factory.setRepeatedStatementDetector(repeatedStatementDetector);
+		}
+		if (readReplicas != null) {
+			factory.setReadReplicas(readReplicas);
+		}
+		if (writeBehindBuffer != null) {
+			factory.setWriteBehindBuffer(writeBehindBuffer);
+		}
+		if (entityRegistry != null) {
+			factory.setEntityRegistry(entityRegistry);
+		}
+		if (beanFactory != null && transactionManagerName != null && beanFactory.containsBean(transactionManagerName)) {
+			factory.setTransactionManager(beanFactory.getBean(transactionManagerName, PlatformTransactionManager.class));
+		}
 	}
 
 	/**
@@ -98,6 +396,40 @@ public class JooqRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extend
 	public void afterPropertiesSet() {
 
 		Assert.notNull(dslContext, "EntityManager must not be null!");
+		if (bootstrapMode != BootstrapMode.DEFAULT) {
+			setLazyInit(true);
+		}
 		super.afterPropertiesSet();
+
+		if (bootstrapMode == BootstrapMode.BACKGROUND) {
+			Executor executor = bootstrapExecutor == null ? AsyncExecutors.defaultExecutor() : bootstrapExecutor;
+			initialization = CompletableFuture.supplyAsync(this::createRepository, executor);
+		}
+	}
+
+	/**
+	 * {@link TargetSource} of the proxy exposed in {@link BootstrapMode#LAZY} and {@link BootstrapMode#BACKGROUND},
+	 * resolving to the repository once it's created.
+	 */
+	private class RepositoryTargetSource implements TargetSource {
+
+		@Override
+		public Class<?> getTargetClass() {
+			return getObjectType();
+		}
+
+		@Override
+		public boolean isStatic() {
+			return false;
+		}
+
+		@Override
+		public Object getTarget() {
+			return getRepository();
+		}
+
+		@Override
+		public void releaseTarget(Object target) {
+		}
 	}
 }
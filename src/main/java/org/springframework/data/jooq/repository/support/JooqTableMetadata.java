@@ -0,0 +1,254 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import static com.google.common.base.CaseFormat.LOWER_CAMEL;
+import static com.google.common.base.CaseFormat.LOWER_UNDERSCORE;
+import static org.jooq.impl.DSL.*;
+
+import org.jooq.Condition;
+import org.jooq.Converter;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.UniqueKey;
+import org.jooq.UpdatableRecord;
+import org.jooq.conf.ParamType;
+import org.jooq.impl.DefaultBinding;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.annotation.Version;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Metadata of the table managed by a {@link SimpleJooqRepository}, compiled once when the repository is created:
+ * the primary key, the version field, the index of entity properties to fields and the rendered SQL of the
+ * fixed-shape CRUD statements.
+ *
+ * @author Johannes Buehler
+ */
+class JooqTableMetadata<R extends UpdatableRecord<R>> {
+
+    private final Table<R> table;
+    private final Field<?>[] pk;
+    private final Map<String, Field<?>> fields;
+    private final Field<?> version;
+    private final boolean defaultBindings;
+
+    private final String findOneSql;
+    private final String existsSql;
+    private final String deleteSql;
+    private final String countSql;
+
+    JooqTableMetadata(DSLContext jooq, Table<R> table, Class<?> domainClass) {
+        this.table = table;
+
+        UniqueKey<R> key = table.getPrimaryKey();
+        this.pk = key == null ? null : key.getFieldsArray();
+
+        Map<String, Field<?>> fields = new HashMap<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(domainClass)) {
+            Field<?> field = lookup(descriptor.getName());
+            if (field != null) {
+                fields.put(descriptor.getName(), field);
+            }
+        }
+        this.fields = Collections.unmodifiableMap(fields);
+        this.version = versionField(domainClass);
+
+        this.countSql = jooq.selectCount().from(table).getSQL(ParamType.INDEXED);
+
+        // Plain SQL can only be used as long as jOOQ doesn't need to apply any custom bindings to the results.
+        this.defaultBindings = hasDefaultBindings(table);
+        if (pk != null && defaultBindings) {
+            Condition byId = byIdPlaceholders();
+            this.findOneSql = jooq.selectFrom(table).where(byId).getSQL(ParamType.INDEXED);
+            this.existsSql = jooq.selectOne().from(table).where(byId).limit(inline(1)).getSQL(ParamType.INDEXED);
+            this.deleteSql = jooq.deleteFrom(table).where(byId).getSQL(ParamType.INDEXED);
+        } else {
+            this.findOneSql = null;
+            this.existsSql = null;
+            this.deleteSql = null;
+        }
+    }
+
+    /**
+     * Returns the primary key fields of the table.
+     *
+     * @return the primary key fields or {@literal null} if the table has no primary key.
+     */
+    Field<?>[] primaryKey() {
+        return pk;
+    }
+
+    /**
+     * Returns the field the given entity property is mapped to.
+     *
+     * @param property must not be {@literal null}.
+     * @return the field or {@literal null} if the property is not mapped.
+     */
+    Field<?> field(String property) {
+        Field<?> field = fields.get(property);
+        return field != null ? field : lookup(property);
+    }
+
+    /**
+     * Returns the field holding the version of a row, which every update checks and advances.
+     *
+     * @return the version field or {@literal null} if the entity is not versioned.
+     */
+    Field<?> version() {
+        return version;
+    }
+
+    /**
+     * Returns the version following the given one: the next number for numeric versions and the current time for
+     * timestamps.
+     *
+     * @param current the current version, {@literal null} for a new row.
+     * @return
+     */
+    Object nextVersion(Object current) {
+        if (Number.class.isAssignableFrom(version.getType())) {
+            return version.getDataType().convert(current == null ? 1L : ((Number) current).longValue() + 1);
+        }
+        return version.getDataType().convert(new Timestamp(System.currentTimeMillis()));
+    }
+
+    /**
+     * Returns all mapped entity properties and their fields.
+     *
+     * @return
+     */
+    Map<String, Field<?>> fields() {
+        return fields;
+    }
+
+    /**
+     * Returns whether the fixed-shape statements have been rendered and {@link #bindValues(Object)} can be used.
+     *
+     * @return
+     */
+    boolean isPrecompiled() {
+        return findOneSql != null;
+    }
+
+    /**
+     * Returns whether all fields of the table use jOOQ's default bindings, so statements rendered to plain SQL can be
+     * executed with bind values converted by the fields' data types.
+     *
+     * @return
+     */
+    boolean hasDefaultBindings() {
+        return defaultBindings;
+    }
+
+    String findOneSql() {
+        return findOneSql;
+    }
+
+    String existsSql() {
+        return existsSql;
+    }
+
+    String deleteSql() {
+        return deleteSql;
+    }
+
+    String countSql() {
+        return countSql;
+    }
+
+    /**
+     * Returns the values of the primary key columns of the given id, converted to their data types. They match the
+     * primary key placeholders of the precompiled statements.
+     *
+     * @param id must not be {@literal null}.
+     * @return
+     */
+    Object[] bindValues(Object id) {
+        if (pk.length == 1) {
+            return new Object[] { pk[0].getDataType().convert(id) };
+        }
+        Object[] values = new Object[pk.length];
+        for (int i = 0; i < pk.length; i++) {
+            values[i] = pk[i].getDataType().convert(((Record) id).get(i));
+        }
+        return values;
+    }
+
+    /**
+     * Returns the field of the entity property annotated with {@link Version}, falling back to the record version or
+     * timestamp field jOOQ's code generator has been configured with for the table.
+     */
+    private Field<?> versionField(Class<?> domainClass) {
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(domainClass)) {
+            java.lang.reflect.Field property = ReflectionUtils.findField(domainClass, descriptor.getName());
+            if (property == null || !property.isAnnotationPresent(Version.class)) {
+                continue;
+            }
+            Field<?> field = field(descriptor.getName());
+            if (field == null) {
+                throw new IllegalStateException(String.format("Version property %s of %s is not mapped to a column of %s!",
+                        descriptor.getName(), domainClass.getName(), table.getName()));
+            }
+            return field;
+        }
+        Field<?> field = table.getRecordVersion();
+        return field != null ? field : table.getRecordTimestamp();
+    }
+
+    private Field<?> lookup(String property) {
+        String column = LOWER_CAMEL.to(LOWER_UNDERSCORE, property);
+        Field<?> field = table.field(name(column));
+        if (field != null) {
+            return field;
+        }
+        for (Field<?> candidate : table.fields()) {
+            if (candidate.getName().equalsIgnoreCase(column)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Condition byIdPlaceholders() {
+        Condition[] conditions = new Condition[pk.length];
+        for (int i = 0; i < pk.length; i++) {
+            Field<Object> field = (Field<Object>) pk[i];
+            conditions[i] = field.eq((Field<Object>) param(field.getName(), field.getDataType()));
+        }
+        return and(conditions);
+    }
+
+    private static boolean hasDefaultBindings(Table<?> table) {
+        for (Field<?> field : table.fields()) {
+            Converter<?, ?> converter = field.getConverter();
+            if (field.getBinding().getClass() != DefaultBinding.class || converter.fromType() != converter.toType()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.Table;
+import org.jooq.impl.DefaultRecordMapper;
+import org.jooq.tools.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link RecordMapper} mapping the fields of a table to the bean properties of an entity without reflection. The
+ * constructor, getters and setters are bound once through {@link LambdaMetafactory}, so mapping a record costs no more
+ * than calling them directly. The same accessors are used for the reverse path from entities to records.
+ * <p>
+ * Fields are matched to properties by the rules of jOOQ's {@link DefaultRecordMapper}: by JPA {@link Column} names
+ * if the entity carries any, by the field name and its camel case form otherwise. Entities for which the
+ * {@link DefaultRecordMapper} would write a field through anything but the setter of a single property, e.g. a member
+ * without setter, are left to the {@link DefaultRecordMapper}.
+ *
+ * @author Johannes Buehler
+ */
+class LambdaRecordMapper<R extends Record, E> implements RecordMapper<R, E> {
+
+    private static final Log LOG = LogFactory.getLog(LambdaRecordMapper.class);
+
+    private final Supplier<Object> constructor;
+    private final Property[] properties;
+
+    private LambdaRecordMapper(Supplier<Object> constructor, List<Property> properties) {
+        this.constructor = constructor;
+        this.properties = properties.toArray(new Property[properties.size()]);
+    }
+
+    /**
+     * Creates a {@link LambdaRecordMapper} for the given table and entity type.
+     *
+     * @param table      must not be {@literal null}.
+     * @param domainClass must not be {@literal null}.
+     * @return the mapper or {@literal null} if the entity can't be mapped without reflection, e.g. because it has no
+     * public no-argument constructor, or not the same way as by the {@link DefaultRecordMapper}.
+     */
+    static <R extends Record, E> LambdaRecordMapper<R, E> create(Table<R> table, Class<E> domainClass) {
+        if (!Modifier.isPublic(domainClass.getModifiers()) || Modifier.isAbstract(domainClass.getModifiers())
+                || !ClassUtils.isVisible(domainClass, LambdaRecordMapper.class.getClassLoader())
+                || !ClassUtils.hasConstructor(domainClass)) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Supplier<Object> constructor = constructor(lookup, domainClass);
+
+            boolean annotated = hasColumnAnnotations(domainClass);
+            List<Property> properties = new ArrayList<>();
+            Field<?>[] fields = table.fields();
+            for (int i = 0; i < fields.length; i++) {
+                Targets targets = annotated
+                        ? annotatedTargets(domainClass, fields[i].getName())
+                        : matchingTargets(domainClass, fields[i].getName());
+                if (targets.isEmpty()) {
+                    continue;
+                }
+                PropertyDescriptor descriptor = targets.property(domainClass);
+                if (descriptor == null) {
+                    LOG.debug("Field " + fields[i].getName() + " of " + table.getName() + " can't be bound to a setter of "
+                            + domainClass.getName() + ", mapping it reflectively.");
+                    return null;
+                }
+                properties.add(new Property(lookup, domainClass, descriptor, i, fields[i]));
+            }
+            return properties.isEmpty() ? null : new LambdaRecordMapper<>(constructor, properties);
+        } catch (LambdaConversionException | ReflectiveOperationException e) {
+            LOG.debug("Could not generate a record mapper for " + domainClass.getName() + ", mapping it reflectively.", e);
+            return null;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.jooq.RecordMapper#map(org.jooq.Record)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E map(R record) {
+        return into(record, (E) constructor.get());
+    }
+
+    /**
+     * Copies the values of the given record into the given entity.
+     *
+     * @param record must not be {@literal null}.
+     * @param entity must not be {@literal null}.
+     * @return the given entity.
+     */
+    <S extends E> S into(R record, S entity) {
+        for (Property property : properties) {
+            Object value = property.converting ? record.get(property.index, property.type) : record.get(property.index);
+            if (value != null || !property.primitive) {
+                property.setter.accept(entity, value);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Copies the values of the given entity into the given record, marking them as changed.
+     *
+     * @param entity must not be {@literal null}.
+     * @param record must not be {@literal null}.
+     */
+    void unmap(E entity, R record) {
+        for (Property property : properties) {
+            if (property.getter != null) {
+                Object value = property.getter.apply(entity);
+                record.set(property.field, property.converting ? property.field.getDataType().convert(value) : value);
+            }
+        }
+    }
+
+    private static boolean hasColumnAnnotations(Class<?> domainClass) {
+        boolean[] annotated = new boolean[1];
+        ReflectionUtils.doWithFields(domainClass, field -> annotated[0] |= field.isAnnotationPresent(Column.class));
+        ReflectionUtils.doWithMethods(domainClass, method -> annotated[0] |= method.isAnnotationPresent(Column.class));
+        return annotated[0];
+    }
+
+    /**
+     * Collects the members and setters the {@link DefaultRecordMapper} writes the given field to if the entity carries
+     * no {@link Column} annotations.
+     */
+    private static Targets matchingTargets(Class<?> domainClass, String name) {
+        String camelCase = StringUtils.toCamelCase(name);
+        String camelCaseLC = StringUtils.toCamelCaseLC(name);
+        Targets targets = new Targets();
+        ReflectionUtils.doWithFields(domainClass, field -> {
+            if (name.equals(field.getName()) || camelCaseLC.equals(field.getName())) {
+                targets.members.add(field.getName());
+            }
+        }, LambdaRecordMapper::isInstanceMember);
+        ReflectionUtils.doWithMethods(domainClass, method -> {
+            String methodName = method.getName();
+            if (method.getParameterCount() == 1 && (name.equals(methodName) || camelCaseLC.equals(methodName)
+                    || ("set" + name).equals(methodName) || ("set" + camelCase).equals(methodName))) {
+                targets.setters.add(ClassUtils.getMostSpecificMethod(method, domainClass));
+            }
+        }, LambdaRecordMapper::isInstanceMethod);
+        return targets;
+    }
+
+    /**
+     * Collects the members and setters the {@link DefaultRecordMapper} writes the given field to if the entity carries
+     * {@link Column} annotations.
+     */
+    private static Targets annotatedTargets(Class<?> domainClass, String name) {
+        Targets targets = new Targets();
+        ReflectionUtils.doWithFields(domainClass, field -> {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null ? namesMatch(name, column.name())
+                    : field.isAnnotationPresent(Id.class) && namesMatch(name, field.getName())) {
+                targets.members.add(field.getName());
+            }
+        }, LambdaRecordMapper::isInstanceMember);
+        ReflectionUtils.doWithMethods(domainClass, method -> {
+            Column column = method.getAnnotation(Column.class);
+            if (column == null || !namesMatch(name, column.name())) {
+                return;
+            }
+            if (method.getParameterCount() == 1) {
+                targets.setters.add(ClassUtils.getMostSpecificMethod(method, domainClass));
+            } else if (method.getParameterCount() == 0) {
+                String methodName = method.getName();
+                String suffix = methodName.startsWith("get") ? methodName.substring(3)
+                        : methodName.startsWith("is") ? methodName.substring(2) : null;
+                Method setter = suffix == null ? null
+                        : ClassUtils.getMethodIfAvailable(domainClass, "set" + suffix, method.getReturnType());
+                if (setter != null && !setter.isAnnotationPresent(Column.class)) {
+                    targets.setters.add(setter);
+                }
+            }
+        }, LambdaRecordMapper::isInstanceMethod);
+        return targets;
+    }
+
+    private static boolean namesMatch(String name, String annotation) {
+        return annotation.startsWith("\"") ? ('"' + name + '"').equals(annotation) : name.equalsIgnoreCase(annotation);
+    }
+
+    private static boolean isInstanceMember(java.lang.reflect.Field field) {
+        return !Modifier.isStatic(field.getModifiers());
+    }
+
+    private static boolean isInstanceMethod(Method method) {
+        return !Modifier.isStatic(method.getModifiers()) && !method.isBridge();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> constructor(MethodHandles.Lookup lookup, Class<?> domainClass)
+            throws LambdaConversionException, ReflectiveOperationException {
+        MethodHandle handle = lookup.findConstructor(domainClass, MethodType.methodType(void.class));
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class), handle, MethodType.methodType(domainClass));
+        return (Supplier<Object>) target(site);
+    }
+
+    /**
+     * Creates the function object of a call site returned by the {@link LambdaMetafactory}. Its factory captures
+     * nothing, so it throws no checked exception.
+     */
+    private static Object target(CallSite site) {
+        try {
+            return site.getTarget().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    /**
+     * The members and setters a field of the table is written to.
+     */
+    private static class Targets {
+
+        final Set<String> members = new HashSet<>();
+        final Set<Method> setters = new LinkedHashSet<>();
+
+        boolean isEmpty() {
+            return members.isEmpty() && setters.isEmpty();
+        }
+
+        /**
+         * Returns the property whose setter covers all targets, i.e. which is the only setter written and owns all
+         * members written, or {@literal null} if there is none.
+         */
+        PropertyDescriptor property(Class<?> domainClass) {
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(domainClass)) {
+                Method writeMethod = descriptor.getWriteMethod();
+                if (writeMethod == null) {
+                    continue;
+                }
+                boolean coversSetters = setters.isEmpty() || setters.size() == 1 && setters.contains(writeMethod);
+                boolean coversMembers = members.isEmpty()
+                        || members.size() == 1 && members.contains(descriptor.getName());
+                if (coversSetters && coversMembers
+                        && (setters.contains(writeMethod) || members.contains(descriptor.getName()))) {
+                    return descriptor;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A property of the entity bound to a field of the table.
+     */
+    private static class Property {
+
+        final int index;
+        final Field<Object> field;
+        final Class<?> type;
+        final boolean primitive;
+        final boolean converting;
+        final BiConsumer<Object, Object> setter;
+        final Function<Object, Object> getter;
+
+        @SuppressWarnings("unchecked")
+        Property(MethodHandles.Lookup lookup, Class<?> domainClass, PropertyDescriptor descriptor, int index,
+                 Field<?> field) throws LambdaConversionException, ReflectiveOperationException {
+            Class<?> propertyType = descriptor.getPropertyType();
+
+            this.index = index;
+            this.field = (Field<Object>) field;
+            this.type = ClassUtils.resolvePrimitiveIfNecessary(propertyType);
+            this.primitive = propertyType.isPrimitive();
+            this.converting = type != field.getType();
+
+            MethodHandle write = lookup.unreflect(descriptor.getWriteMethod());
+            this.setter = (BiConsumer<Object, Object>) target(LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class), MethodType.methodType(void.class, Object.class, Object.class),
+                    write, MethodType.methodType(void.class, domainClass,
+                            ClassUtils.resolvePrimitiveIfNecessary(write.type().parameterType(1)))));
+
+            if (descriptor.getReadMethod() != null) {
+                MethodHandle read = lookup.unreflect(descriptor.getReadMethod());
+                this.getter = (Function<Object, Object>) target(LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+                        read, MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(read.type().returnType()),
+                                domainClass)));
+            } else {
+                this.getter = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,584 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import static org.jooq.impl.DSL.*;
+
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.ResultQuery;
+import org.jooq.Select;
+import org.jooq.SelectQuery;
+import org.jooq.SortField;
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+import org.jooq.conf.ParamType;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link RepositoryQuery} derived from the name of a query method. The method name is parsed into jOOQ conditions
+ * against the fields of the entity's table once, when the repository is created. Queries of a fixed shape, that is
+ * without {@link Pageable} or {@link Sort} parameters and {@code IN} clauses, are rendered to SQL right away as well,
+ * so a call only binds its arguments. All other queries are assembled from the parsed conditions on each call.
+ * <p>
+ * Methods returning a projection, either statically or through a dynamic {@link Class} parameter, select only the
+ * columns of the projected properties, see {@link JooqProjection}.
+ *
+ * @author Johannes Buehler
+ */
+class PartTreeJooqQuery<R extends UpdatableRecord<R>, E> implements RepositoryQuery {
+
+    private final QueryMethod method;
+    private final DSLContext jooq;
+    private final Table<R> table;
+    private final RecordMapper<R, E> mapper;
+    private final JooqTableMetadata<R> metadata;
+    private final ProjectionFactory projectionFactory;
+    private final int fetchSize;
+    private final JooqEntityCache<R> entityCache;
+
+    private final PartTree tree;
+    private final List<List<PartCondition>> conditions = new ArrayList<>();
+    private final int arguments;
+    private final List<SortField<?>> sort;
+    private final Integer maxResults;
+    private final JooqProjection<R, E, ?> projection;
+    private final Map<Class<?>, JooqProjection<R, E, ?>> dynamicProjections = new ConcurrentHashMap<>();
+    private final String sql;
+
+    PartTreeJooqQuery(QueryMethod method, DSLContext jooq, JooqEntityInformation<R, ?, E, ?> entityInformation,
+            JooqTableMetadata<R> metadata, ProjectionFactory projectionFactory, int fetchSize, JooqEntityCache<R> entityCache) {
+
+        this.method = method;
+        this.jooq = jooq;
+        this.table = entityInformation.table();
+        this.mapper = entityInformation.mapper();
+        this.metadata = metadata;
+        this.projectionFactory = projectionFactory;
+        this.fetchSize = fetchSize;
+        this.entityCache = entityCache;
+        this.tree = new PartTree(method.getName(), entityInformation.getJavaType());
+
+        int index = 0;
+        for (PartTree.OrPart orPart : tree) {
+            List<PartCondition> and = new ArrayList<>();
+            for (Part part : orPart) {
+                and.add(new PartCondition(part, field(part.getProperty()), index));
+                index += part.getNumberOfArguments();
+            }
+            conditions.add(and);
+        }
+        this.arguments = index;
+        int declared = method.getParameters().getBindableParameters().getNumberOfParameters();
+        if (arguments != declared) {
+            throw new IllegalArgumentException(String.format("Query method %s expects %d arguments but declares %d.",
+                    method.getName(), arguments, declared));
+        }
+
+        this.sort = new ArrayList<>();
+        if (tree.getSort() != null) {
+            for (Sort.Order order : tree.getSort()) {
+                sort.add(sortField(field(PropertyPath.from(order.getProperty(), entityInformation.getJavaType())), order));
+            }
+        }
+        if (tree.isLimiting()) {
+            this.maxResults = tree.getMaxResults();
+        } else if (isSingleEntityQuery()) {
+            // Two rows are enough to tell a unique result from an ambiguous one.
+            this.maxResults = 2;
+        } else {
+            this.maxResults = null;
+        }
+        ReturnedType returnedType = method.getResultProcessor().getReturnedType();
+        if (returnedType.isProjecting() && !method.getParameters().hasDynamicProjection() && !tree.isDelete()
+                && !tree.isCountProjection() && !tree.isExistsProjection()) {
+            this.projection = projection(returnedType.getReturnedType());
+        } else {
+            this.projection = null;
+        }
+        this.sql = precompile();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.RepositoryQuery#getQueryMethod()
+     */
+    @Override
+    public QueryMethod getQueryMethod() {
+        return method;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.springframework.data.repository.query.RepositoryQuery#execute(java.lang.Object[])
+     */
+    @Override
+    public Object execute(Object[] parameters) {
+
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(method.getParameters(), parameters);
+        Object[] values = new Object[arguments];
+        for (int i = 0; i < arguments; i++) {
+            values[i] = accessor.getBindableValue(i);
+        }
+        boolean precompiled = sql != null && canBind(values);
+        JooqProjection<R, E, ?> projection = projection(accessor);
+
+        if (tree.isDelete()) {
+            return delete(condition(values));
+        }
+        if (tree.isCountProjection()) {
+            long count = precompiled
+                    ? jooq.fetchOne(sql, bindValues(values)).get(0, Long.class)
+                    : jooq.fetchCount(select(condition(values), null, null));
+            return convert(count);
+        }
+        if (tree.isExistsProjection()) {
+            return precompiled
+                    ? jooq.fetch(sql, bindValues(values)).isNotEmpty()
+                    : jooq.fetchExists(select(condition(values), null, null));
+        }
+        if (method.isPageQuery()) {
+            return page(condition(values), accessor.getPageable(), projection);
+        }
+        if (method.isSliceQuery()) {
+            return slice(condition(values), accessor.getPageable(), projection);
+        }
+
+        ResultQuery<? extends Record> query = precompiled
+                ? jooq.resultQuery(sql, bindValues(values))
+                : limit(select(condition(values), accessor.getSort(), projection), maxResults);
+        if (method.isStreamQuery()) {
+            return stream(query, projection);
+        }
+        List<Object> content = map(query.fetch(), projection);
+        if (method.isCollectionQuery()) {
+            return content;
+        }
+        if (content.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, content.size());
+        }
+        return content.isEmpty() ? null : content.get(0);
+    }
+
+    private String precompile() {
+        Parameters<?, ?> parameters = method.getParameters();
+        if (tree.isDelete() || parameters.hasPageableParameter() || parameters.hasSortParameter()
+                || parameters.hasDynamicProjection() || method.isPageQuery() || method.isSliceQuery() || !metadata.hasDefaultBindings()) {
+            return null;
+        }
+        for (List<PartCondition> and : conditions) {
+            for (PartCondition condition : and) {
+                if (!condition.isFixedShape()) {
+                    return null;
+                }
+            }
+        }
+        Condition placeholders = condition(null);
+        Select<?> query;
+        if (tree.isCountProjection()) {
+            query = tree.isDistinct()
+                    ? jooq.selectCount().from(select(placeholders, null, null).asTable("distinct_rows"))
+                    : jooq.selectCount().from(table).where(placeholders);
+        } else if (tree.isExistsProjection()) {
+            query = limit(select(placeholders, null, null), 1);
+        } else {
+            query = limit(select(placeholders, null, projection), maxResults);
+        }
+        // Any value jOOQ binds on its own would shift the positions of the arguments.
+        if (jooq.extractBindValues(query).size() != arguments) {
+            return null;
+        }
+        return query.getSQL(ParamType.INDEXED);
+    }
+
+    private boolean canBind(Object[] values) {
+        for (List<PartCondition> and : conditions) {
+            for (PartCondition condition : and) {
+                if (!condition.canBind(values)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private Object[] bindValues(Object[] values) {
+        List<Object> bindValues = new ArrayList<>(arguments);
+        for (List<PartCondition> and : conditions) {
+            for (PartCondition condition : and) {
+                condition.addBindValues(values, bindValues);
+            }
+        }
+        return bindValues.toArray();
+    }
+
+    /**
+     * Returns the condition of the method name, either binding the given values or, for {@literal null}, with
+     * placeholders.
+     */
+    private Condition condition(Object[] values) {
+        if (conditions.isEmpty()) {
+            return trueCondition();
+        }
+        List<Condition> or = new ArrayList<>(conditions.size());
+        for (List<PartCondition> and : conditions) {
+            List<Condition> parts = new ArrayList<>(and.size());
+            for (PartCondition condition : and) {
+                parts.add(values == null ? condition.placeholders() : condition.bind(values));
+            }
+            or.add(and(parts));
+        }
+        return or(or);
+    }
+
+    private SelectQuery<? extends Record> select(Condition condition, Sort dynamicSort, JooqProjection<R, E, ?> projection) {
+        SelectQuery<? extends Record> query;
+        if (projection == null) {
+            query = jooq.selectQuery(table);
+        } else {
+            SelectQuery<Record> projecting = jooq.selectQuery();
+            projecting.addSelect(projection.fields());
+            projecting.addFrom(table);
+            query = projecting;
+        }
+        query.setDistinct(tree.isDistinct());
+        query.addConditions(condition);
+        query.addOrderBy(sort);
+        if (dynamicSort != null) {
+            for (Sort.Order order : dynamicSort) {
+                Field<?> field = metadata.field(order.getProperty());
+                if (field != null) {
+                    query.addOrderBy(sortField(field, order));
+                }
+            }
+        }
+        return query;
+    }
+
+    private static SelectQuery<?> limit(SelectQuery<?> query, Integer rows) {
+        if (rows != null) {
+            query.addLimit(inline(rows));
+        }
+        return query;
+    }
+
+    private PageImpl<?> page(Condition condition, Pageable pageable, JooqProjection<R, E, ?> projection) {
+        if (pageable == null) {
+            return new PageImpl<>(map(limit(select(condition, null, projection), maxResults).fetch(), projection));
+        }
+        SelectQuery<?> query = select(condition, pageable.getSort(), projection);
+        query.addLimit(pageable.getOffset(), pageSize(pageable));
+        List<Object> content = map(query.fetch(), projection);
+
+        long total;
+        // The total follows from the content if the page is incomplete.
+        if (content.size() > 0 && content.size() < pageable.getPageSize() || pageable.getOffset() == 0 && content.isEmpty()) {
+            total = pageable.getOffset() + content.size();
+        } else {
+            total = jooq.fetchCount(select(condition, null, projection));
+            if (maxResults != null) {
+                total = Math.min(total, maxResults);
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private SliceImpl<?> slice(Condition condition, Pageable pageable, JooqProjection<R, E, ?> projection) {
+        if (pageable == null) {
+            return new SliceImpl<>(map(limit(select(condition, null, projection), maxResults).fetch(), projection));
+        }
+        SelectQuery<?> query = select(condition, pageable.getSort(), projection);
+        query.addLimit(pageable.getOffset(), pageSize(pageable) + 1);
+
+        List<Object> content = map(query.fetch(), projection);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private int pageSize(Pageable pageable) {
+        return maxResults == null ? pageable.getPageSize() : Math.min(pageable.getPageSize(), maxResults);
+    }
+
+    private Object delete(Condition condition) {
+        List<Object> deleted = method.isQueryForEntity() ? map(select(condition, null, null).fetch(), null) : null;
+        int rows = jooq.deleteFrom(table).where(condition).execute();
+        if (entityCache != null && rows > 0) {
+            // The deleted keys are unknown without another query.
+            entityCache.clear();
+        }
+        if (deleted != null) {
+            return method.isCollectionQuery() || deleted.isEmpty() ? deleted : deleted.get(0);
+        }
+        return convert(rows);
+    }
+
+    private Object convert(Number value) {
+        Class<?> type = method.getReturnedObjectType();
+        if (type == void.class || type == Void.class) {
+            return null;
+        }
+        return DefaultConversionService.getSharedInstance().convert(value, type);
+    }
+
+    private Stream<?> stream(ResultQuery<? extends Record> query, JooqProjection<R, E, ?> projection) {
+        if (fetchSize > 0) {
+            query.fetchSize(fetchSize);
+        }
+        Cursor<? extends Record> cursor = query.fetchLazy();
+        Spliterator<? extends Record> records = Spliterators.spliteratorUnknownSize(cursor.iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(records, false).map(record -> map(record, projection)).onClose(cursor::close);
+    }
+
+    private List<Object> map(List<? extends Record> records, JooqProjection<R, E, ?> projection) {
+        List<Object> content = new ArrayList<>(records.size());
+        for (Record record : records) {
+            content.add(map(record, projection));
+        }
+        return content;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object map(Record record, JooqProjection<R, E, ?> projection) {
+        if (projection != null) {
+            return projection.map(record);
+        }
+        return mapper.map(table.getRecordType().isInstance(record) ? (R) record : record.into(table));
+    }
+
+    private JooqProjection<R, E, ?> projection(ParametersParameterAccessor accessor) {
+        Class<?> type = accessor.getDynamicProjection();
+        if (type == null) {
+            return projection;
+        }
+        if (type.isAssignableFrom(table.getRecordType()) || type.isAssignableFrom(method.getEntityInformation().getJavaType())) {
+            return null;
+        }
+        return dynamicProjections.computeIfAbsent(type, this::projection);
+    }
+
+    private JooqProjection<R, E, ?> projection(Class<?> type) {
+        return new JooqProjection<>(type, metadata, table, mapper, projectionFactory);
+    }
+
+    private boolean isSingleEntityQuery() {
+        return !tree.isDelete() && !tree.isCountProjection() && !tree.isExistsProjection() && !method.isCollectionQuery()
+                && !method.isPageQuery() && !method.isSliceQuery() && !method.isStreamQuery();
+    }
+
+    private Field<?> field(PropertyPath property) {
+        if (property.hasNext()) {
+            throw new IllegalArgumentException(String.format("Nested property %s of query method %s is not supported.",
+                    property.toDotPath(), method.getName()));
+        }
+        Field<?> field = metadata.field(property.getSegment());
+        if (field == null) {
+            throw new IllegalArgumentException(String.format("No column of table %s maps property %s of query method %s.",
+                    table.getName(), property.getSegment(), method.getName()));
+        }
+        return field;
+    }
+
+    private static SortField<?> sortField(Field<?> field, Sort.Order order) {
+        return order.getDirection() == Sort.Direction.ASC ? field.asc() : field.desc();
+    }
+
+    /**
+     * A single {@link Part} of the method name compiled into a condition on its field.
+     */
+    private static class PartCondition {
+
+        private final Part part;
+        private final Field<Object> field;
+        private final int index;
+        private final boolean ignoreCase;
+
+        @SuppressWarnings("unchecked")
+        PartCondition(Part part, Field<?> field, int index) {
+            this.part = part;
+            this.field = (Field<Object>) field;
+            this.index = index;
+
+            switch (part.getType()) {
+                case EXISTS:
+                case NEAR:
+                case WITHIN:
+                    throw new IllegalArgumentException(String.format("Keyword %s of %s is not supported.",
+                            part.getType(), part));
+                default:
+            }
+
+            boolean isString = String.class.equals(field.getType());
+            switch (part.shouldIgnoreCase()) {
+                case ALWAYS:
+                    if (!isString) {
+                        throw new IllegalArgumentException(String.format("Unable to ignore case of %s typed property %s.",
+                                field.getType().getName(), part.getProperty().getSegment()));
+                    }
+                    this.ignoreCase = true;
+                    break;
+                case WHEN_POSSIBLE:
+                    this.ignoreCase = isString;
+                    break;
+                default:
+                    this.ignoreCase = false;
+            }
+        }
+
+        boolean isFixedShape() {
+            return part.getType() != Part.Type.IN && part.getType() != Part.Type.NOT_IN;
+        }
+
+        /**
+         * Returns whether the precompiled statement can bind the given values, which it cannot if an equality is
+         * checked against {@literal null}.
+         */
+        boolean canBind(Object[] values) {
+            Part.Type type = part.getType();
+            return type != Part.Type.SIMPLE_PROPERTY && type != Part.Type.NEGATING_SIMPLE_PROPERTY || values[index] != null;
+        }
+
+        void addBindValues(Object[] values, List<Object> bindValues) {
+            for (int i = 0; i < part.getNumberOfArguments(); i++) {
+                bindValues.add(field.getDataType().convert(values[index + i]));
+            }
+        }
+
+        Condition placeholders() {
+            Field<Object> first = part.getNumberOfArguments() > 0 ? value(param("p" + index, field.getDataType())) : null;
+            Field<Object> second = part.getNumberOfArguments() > 1 ? value(param("p" + (index + 1), field.getDataType())) : null;
+            return condition(first, second);
+        }
+
+        Condition bind(Object[] values) {
+            if (!isFixedShape()) {
+                Collection<?> elements = elements(values[index]);
+                List<Field<Object>> fields = new ArrayList<>(elements.size());
+                for (Object element : elements) {
+                    fields.add(value(val(element, field)));
+                }
+                return part.getType() == Part.Type.IN ? left().in(fields) : left().notIn(fields);
+            }
+            Field<Object> first = part.getNumberOfArguments() > 0 && values[index] != null ? value(val(values[index], field)) : null;
+            Field<Object> second = part.getNumberOfArguments() > 1 ? value(val(values[index + 1], field)) : null;
+            return condition(first, second);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Condition condition(Field<Object> first, Field<Object> second) {
+            Field<Object> left = left();
+            switch (part.getType()) {
+                case SIMPLE_PROPERTY:
+                    return first == null ? left.isNull() : left.eq(first);
+                case NEGATING_SIMPLE_PROPERTY:
+                    return first == null ? left.isNotNull() : left.ne(first);
+                case GREATER_THAN:
+                case AFTER:
+                    return left.gt(first);
+                case GREATER_THAN_EQUAL:
+                    return left.ge(first);
+                case LESS_THAN:
+                case BEFORE:
+                    return left.lt(first);
+                case LESS_THAN_EQUAL:
+                    return left.le(first);
+                case BETWEEN:
+                    return left.between(first, second);
+                case IS_NULL:
+                    return left.isNull();
+                case IS_NOT_NULL:
+                    return left.isNotNull();
+                case LIKE:
+                    return left.like((Field<String>) (Field<?>) first);
+                case NOT_LIKE:
+                    return left.notLike((Field<String>) (Field<?>) first);
+                case STARTING_WITH:
+                    return left.startsWith(first);
+                case ENDING_WITH:
+                    return left.endsWith(first);
+                case CONTAINING:
+                    return left.contains(first);
+                case NOT_CONTAINING:
+                    return left.contains(first).not();
+                case REGEX:
+                    return left.likeRegex((Field<String>) (Field<?>) first);
+                case TRUE:
+                    return left.eq(inline(Boolean.TRUE, field));
+                case FALSE:
+                    return left.eq(inline(Boolean.FALSE, field));
+                default:
+                    throw new IllegalStateException("Unexpected keyword " + part.getType());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Field<Object> left() {
+            return ignoreCase ? (Field<Object>) (Field<?>) upper((Field<String>) (Field<?>) field) : field;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Field<Object> value(Field<Object> value) {
+            return ignoreCase ? (Field<Object>) (Field<?>) upper((Field<String>) (Field<?>) value) : value;
+        }
+
+        private static Collection<?> elements(Object value) {
+            if (value == null) {
+                return new ArrayList<>();
+            }
+            if (value instanceof Collection) {
+                return (Collection<?>) value;
+            }
+            if (value.getClass().isArray()) {
+                return CollectionUtils.arrayToList(value);
+            }
+            List<Object> elements = new ArrayList<>();
+            if (value instanceof Iterable) {
+                ((Iterable<?>) value).forEach(elements::add);
+            } else {
+                elements.add(value);
+            }
+            return elements;
+        }
+    }
+}
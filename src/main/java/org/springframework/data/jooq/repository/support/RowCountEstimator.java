@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * Reads estimated row counts from the catalog statistics of the database.
+ *
+ * @author Johannes Buehler
+ * @see CountStrategy#ESTIMATED
+ */
+class RowCountEstimator {
+
+    private RowCountEstimator() {
+    }
+
+    /**
+     * Returns the estimated number of rows of the given table.
+     *
+     * @param jooq  must not be {@literal null}.
+     * @param table must not be {@literal null}.
+     * @return the estimate or {@literal null} if the dialect exposes no statistics or they are not available.
+     */
+    static Long estimate(DSLContext jooq, Table<?> table) {
+        String schema = table.getSchema() == null ? null : table.getSchema().getName();
+        Record record;
+
+        try {
+            switch (jooq.configuration().dialect().family()) {
+                case POSTGRES:
+                    record = jooq.fetchOne("select c.reltuples from pg_class c join pg_namespace n on n.oid = c.relnamespace "
+                            + "where c.relname = ? and n.nspname = coalesce(?, current_schema())", table.getName(), schema);
+                    break;
+                case MYSQL:
+                case MARIADB:
+                    record = jooq.fetchOne("select table_rows from information_schema.tables "
+                            + "where table_name = ? and table_schema = coalesce(?, database())", table.getName(), schema);
+                    break;
+                case H2:
+                    record = jooq.fetchOne("select row_count_estimate from information_schema.tables "
+                            + "where table_name = ? and table_schema = coalesce(?, schema())", table.getName(), schema);
+                    break;
+                default:
+                    return null;
+            }
+        } catch (DataAccessException e) {
+            // The statistics may not be readable with the privileges at hand.
+            return null;
+        }
+
+        Long estimate = record == null ? null : record.get(0, Long.class);
+        // PostgreSQL reports -1 for tables which have never been analyzed.
+        return estimate == null || estimate < 0 ? null : estimate;
+    }
+}
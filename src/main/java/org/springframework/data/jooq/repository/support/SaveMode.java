@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+/**
+ * The statements {@link SimpleJooqRepository#save(Object)} issues for entities which are not new.
+ *
+ * @author Johannes Buehler
+ */
+public enum SaveMode {
+
+	/**
+	 * Fetches the record by its primary key, copies the entity into it and stores it. Only the columns whose values
+	 * differ from the fetched ones are updated and no statement is issued if none do. Falls back to an insert if no
+	 * record was found.
+	 */
+	FETCH_AND_STORE,
+
+	/**
+	 * Compares the entity with a snapshot of the values it was loaded or last saved with, updates only the changed
+	 * columns and issues no statement if none changed. Entities without a snapshot, e.g. deserialized ones, are saved
+	 * like {@link #FETCH_AND_STORE}, as are entities loaded or saved in a transaction which rolled back. Costs a
+	 * snapshot per entity loaded, held as long as the entity is reachable.
+	 */
+	SNAPSHOT,
+
+	/**
+	 * Issues an {@code UPDATE} by primary key and an {@code INSERT} if no row was affected. Costs a single statement
+	 * for existing rows.
+	 */
+	UPDATE_OR_INSERT,
+
+	/**
+	 * Issues a single dialect specific upsert, e.g. {@code MERGE}, {@code ON CONFLICT} or {@code ON DUPLICATE KEY
+	 * UPDATE}. Changes applied by the database are read back with {@code RETURNING} where available.
+	 */
+	UPSERT
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jooq.repository.AsyncJooqRepository;
+import org.springframework.data.jooq.repository.SeekRequest;
+import org.springframework.data.jooq.repository.SeekSlice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Default implementation of {@link AsyncJooqRepository} running the methods of a {@link SimpleJooqRepository} on an
+ * {@link Executor}. Reads run in a read-only transaction and writes in a read-write transaction of their own, begun
+ * on the executor thread, so the connection is bound to the thread actually using it.
+ *
+ * @author Johannes Buehler
+ */
+public class SimpleAsyncJooqRepository<R extends UpdatableRecord<R>, T extends Table<R>, E, ID extends Serializable>
+        implements AsyncJooqRepository<E, ID> {
+
+    private final SimpleJooqRepository<R, T, E, ID> repository;
+    private Executor executor = AsyncExecutors.defaultExecutor();
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    /**
+     * Creates a new {@link SimpleAsyncJooqRepository} running the methods of the given repository asynchronously.
+     *
+     * @param repository must not be {@literal null}.
+     */
+    public SimpleAsyncJooqRepository(SimpleJooqRepository<R, T, E, ID> repository) {
+        Assert.notNull(repository, "Repository must not be null!");
+        this.repository = repository;
+    }
+
+    /**
+     * Configures the {@link Executor} to run the repository methods on. Defaults to
+     * {@link AsyncExecutors#defaultExecutor()}.
+     *
+     * @param executor must not be {@literal null}.
+     */
+    public void setExecutor(Executor executor) {
+        Assert.notNull(executor, "Executor must not be null!");
+        this.executor = executor;
+    }
+
+    /**
+     * Configures the {@link PlatformTransactionManager} to demarcate the transaction of each call with. Without one,
+     * every statement runs on a connection of its own.
+     *
+     * @param transactionManager can be {@literal null}.
+     */
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        if (transactionManager == null) {
+            readTransaction = null;
+            writeTransaction = null;
+            return;
+        }
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CompletableFuture<E> findOne(ID id) {
+        return read(() -> repository.findOne(id));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(ID id) {
+        return read(() -> repository.exists(id));
+    }
+
+    @Override
+    public CompletableFuture<List<E>> findAll() {
+        return read(repository::findAll);
+    }
+
+    @Override
+    public CompletableFuture<List<E>> findAll(Sort sort) {
+        return read(() -> repository.findAll(sort));
+    }
+
+    @Override
+    public CompletableFuture<List<E>> findAll(Iterable<ID> ids) {
+        return read(() -> repository.findAll(ids));
+    }
+
+    @Override
+    public CompletableFuture<List<E>> findAllInIdOrder(Iterable<ID> ids) {
+        return read(() -> repository.findAllInIdOrder(ids));
+    }
+
+    @Override
+    public CompletableFuture<Page<E>> findAll(Pageable pageable) {
+        return read(() -> repository.findAll(pageable));
+    }
+
+    @Override
+    public CompletableFuture<Slice<E>> findSlice(Pageable pageable) {
+        return read(() -> repository.findSlice(pageable));
+    }
+
+    @Override
+    public CompletableFuture<SeekSlice<E>> findAll(SeekRequest request) {
+        return read(() -> repository.findAll(request));
+    }
+
+    @Override
+    public CompletableFuture<Long> count() {
+        return read(repository::count);
+    }
+
+    @Override
+    public <S extends E> CompletableFuture<S> save(S entity) {
+        return write(() -> repository.save(entity));
+    }
+
+    @Override
+    public <S extends E> CompletableFuture<List<S>> save(Iterable<S> entities) {
+        return write(() -> repository.save(entities));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(ID id) {
+        return write(() -> {
+            repository.delete(id);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(E entity) {
+        return write(() -> {
+            repository.delete(entity);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(Iterable<? extends E> entities) {
+        return write(() -> {
+            repository.delete(entities);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll() {
+        return write(() -> {
+            repository.deleteAll();
+            return null;
+        });
+    }
+
+    private <V> CompletableFuture<V> read(Supplier<V> call) {
+        return execute(readTransaction, call);
+    }
+
+    private <V> CompletableFuture<V> write(Supplier<V> call) {
+        return execute(writeTransaction, call);
+    }
+
+    private <V> CompletableFuture<V> execute(TransactionTemplate transaction, Supplier<V> call) {
+        if (transaction == null) {
+            return CompletableFuture.supplyAsync(call, executor);
+        }
+        return CompletableFuture.supplyAsync(() -> transaction.execute(status -> call.get()), executor);
+    }
+}
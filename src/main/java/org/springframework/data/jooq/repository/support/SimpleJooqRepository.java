@@ -1,33 +1,90 @@
 package org.springframework.data.jooq.repository.support;
 
-import static com.google.common.base.CaseFormat.LOWER_CAMEL;
-import static com.google.common.base.CaseFormat.LOWER_UNDERSCORE;
 import static org.jooq.impl.DSL.*;
 
+import org.jooq.BatchBindStep;
 import org.jooq.Condition;
+import org.jooq.Configuration;
+import org.jooq.ConnectionProvider;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import org.jooq.Identity;
+import org.jooq.InsertQuery;
+import org.jooq.Loader;
+import org.jooq.LoaderFieldMapper;
+import org.jooq.LoaderLoadStep;
+import org.jooq.LoaderOptionsStep;
+import org.jooq.Query;
 import org.jooq.Record;
 import org.jooq.RecordMapper;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
 import org.jooq.SelectQuery;
 import org.jooq.SortField;
 import org.jooq.Table;
-import org.jooq.UniqueKey;
 import org.jooq.UpdatableRecord;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConnectionProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jooq.repository.EntityCacheStatistics;
 import org.springframework.data.jooq.repository.JooqRepository;
+import org.springframework.data.jooq.repository.LoadOptions;
+import org.springframework.data.jooq.repository.LoadResult;
+import org.springframework.data.jooq.repository.PurgeProgress;
+import org.springframework.data.jooq.repository.PurgeRequest;
+import org.springframework.data.jooq.repository.SeekRequest;
+import org.springframework.data.jooq.repository.SeekSlice;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.io.Reader;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
 
 /**
  * Repository base implementation for jOOQ.
@@ -42,12 +99,46 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class SimpleJooqRepository<R extends UpdatableRecord<R>, T extends Table<R>, E, ID extends Serializable> implements JooqRepository<E, ID> {
 
+    /**
+     * The default number of entities written per JDBC batch by {@link #save(Iterable)}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * The default maximum number of IDs rendered into a single {@code IN} list.
+     */
+    public static final int DEFAULT_MAX_IN_LIST_SIZE = 1024;
+
+    /**
+     * The default time to live in milliseconds of counts cached by {@link CountStrategy#CACHED}.
+     */
+    public static final long DEFAULT_COUNT_CACHE_TTL = 60000;
+
     private final JooqEntityInformation<R, T,E, ?> entityInformation;
     private RecordMapper<R, E> mapper;
     private T table;
+    private final JooqTableMetadata<R> metadata;
 
     private DSLContext jooq;
 
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private SaveMode saveMode = SaveMode.FETCH_AND_STORE;
+    private int fetchSize;
+    private CountStrategy countStrategy = CountStrategy.QUERY;
+    private int maxInListSize = DEFAULT_MAX_IN_LIST_SIZE;
+    private long countCacheTtl = DEFAULT_COUNT_CACHE_TTL;
+
+    private JooqEntityCache<R> entityCache;
+    private JooqEntitySnapshots<R> snapshots;
+    private TransactionTemplate chunkTransaction;
+    private WriteBehindBuffer writeBehind;
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private final Map<Class<?>, JooqProjection<R, E, ?>> projections = new ConcurrentHashMap<>();
+    private final JooqExampleMatcher<R> examples;
+
+    private volatile CachedCount cachedCount;
+
 
     /**
      * Creates a new {@link SimpleJooqRepository} to manage objects of the given {@link JooqEntityInformation}.
@@ -56,12 +147,27 @@ public class SimpleJooqRepository<R extends UpdatableRecord<R>, T extends Table<
      * @param dslContext must not be {@literal null}.
      */
     public SimpleJooqRepository(JooqEntityInformation<R, T,E, ?> entityInformation, DSLContext dslContext) {
+        this(entityInformation, dslContext, new JooqEntityRegistry());
+    }
+
+    /**
+     * Creates a new {@link SimpleJooqRepository} to manage objects of the given {@link JooqEntityInformation}, sharing
+     * the table metadata of the given {@link JooqEntityRegistry}.
+     *
+     * @param entityInformation must not be {@literal null}.
+     * @param dslContext must not be {@literal null}.
+     * @param entityRegistry must not be {@literal null}.
+     */
+    public SimpleJooqRepository(JooqEntityInformation<R, T,E, ?> entityInformation, DSLContext dslContext, JooqEntityRegistry entityRegistry) {
 
         Assert.notNull(entityInformation);
+        Assert.notNull(entityRegistry, "Entity registry must not be null!");
         this.entityInformation = entityInformation;
         this.jooq = dslContext;
         mapper = entityInformation.mapper();
         table = entityInformation.table();
+        metadata = entityRegistry.getTableMetadata(entityInformation, dslContext);
+        examples = new JooqExampleMatcher<>(dslContext, metadata, entityInformation.getJavaType());
     }
 
     /**
@@ -74,6 +180,121 @@ public class SimpleJooqRepository<R extends UpdatableRecord<R>, T extends Table<
         this(JooqEntityInformationSupport.getEntityInformation(domainClass, dslContext), dslContext);
     }
 
+    /**
+     * Configures the number of entities written per JDBC batch by {@link #save(Iterable)}.
+     *
+     * @param batchSize must be greater than zero.
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Configures the statements {@link #save(Object)} issues for entities which are not new. Defaults to
+     * {@link SaveMode#FETCH_AND_STORE}. With {@link SaveMode#SNAPSHOT} a snapshot is taken of every entity mapped by
+     * this repository from then on.
+     *
+     * @param saveMode must not be {@literal null}.
+     */
+    public void setSaveMode(SaveMode saveMode) {
+        Assert.notNull(saveMode, "Save mode must not be null!");
+        this.saveMode = saveMode;
+        RecordMapper<R, E> entityMapper = entityInformation.mapper();
+        if (saveMode != SaveMode.SNAPSHOT) {
+            snapshots = null;
+            mapper = entityMapper;
+            return;
+        }
+        JooqEntitySnapshots<R> snapshots = new JooqEntitySnapshots<>();
+        this.snapshots = snapshots;
+        mapper = record -> {
+            E entity = entityMapper.map(record);
+            if (entity != null) {
+                snapshots.put(entity, record);
+            }
+            return entity;
+        };
+    }
+
+    /**
+     * Configures the JDBC fetch size used by the streaming finders. Defaults to {@literal 0}, the driver's default.
+     *
+     * @param fetchSize must not be negative.
+     */
+    public void setFetchSize(int fetchSize) {
+        Assert.isTrue(fetchSize >= 0, "Fetch size must not be negative!");
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Configures the cache {@link #findOne(Serializable)}, {@link #exists(Serializable)} and
+     * {@link #findAll(Iterable)} are served from. Defaults to none.
+     *
+     * @param entityCache can be {@literal null}.
+     * @see org.springframework.data.jooq.repository.EntityCache
+     */
+    public void setEntityCache(JooqEntityCache<R> entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Configures the {@link PlatformTransactionManager} every chunk of {@link #purge(PurgeRequest)} runs in a new
+     * transaction of. Without one, every statement runs on a connection of its own.
+     *
+     * @param transactionManager can be {@literal null}.
+     */
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        if (transactionManager == null) {
+            chunkTransaction = null;
+            return;
+        }
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Configures the maximum number of IDs rendered into a single {@code IN} list. Larger collections of IDs are
+     * queried in chunks. Defaults to {@link #DEFAULT_MAX_IN_LIST_SIZE}.
+     *
+     * @param maxInListSize must be greater than zero.
+     */
+    public void setMaxInListSize(int maxInListSize) {
+        Assert.isTrue(maxInListSize > 0, "Maximum IN list size must be greater than zero!");
+        this.maxInListSize = maxInListSize;
+    }
+
+    /**
+     * Configures how {@link #findAll(Pageable)} determines the total number of entities. Defaults to
+     * {@link CountStrategy#QUERY}.
+     *
+     * @param countStrategy must not be {@literal null}.
+     */
+    public void setCountStrategy(CountStrategy countStrategy) {
+        Assert.notNull(countStrategy, "Count strategy must not be null!");
+        this.countStrategy = countStrategy;
+    }
+
+    /**
+     * Configures the time to live in milliseconds of counts cached by {@link CountStrategy#CACHED}.
+     *
+     * @param countCacheTtl must not be negative.
+     */
+    public void setCountCacheTtl(long countCacheTtl) {
+        Assert.isTrue(countCacheTtl >= 0, "Count cache time to live must not be negative!");
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    /**
+     * Configures the {@link WriteBehindBuffer} the writes of the repository are queued in within read-write
+     * transactions. Defaults to none, every write is executed right away.
+     *
+     * @param writeBehind can be {@literal null}.
+     * @see #save(Object)
+     */
+    public void setWriteBehind(WriteBehindBuffer writeBehind) {
+        this.writeBehind = writeBehind;
+    }
 
 
 
@@ -100,13 +321,67 @@ public class SimpleJooqRepository<R extends UpdatableRecord<R>, T extends Table<
         List<ID> keys = new ArrayList<>();
         ids.forEach(keys::add);
 
+        List<E> result = new ArrayList<>();
+        if (pk != null && entityCache != null) {
+            Map<Object, ID> missing = new LinkedHashMap<>();
+            Map<Object, Long> generations = new HashMap<>();
+            for (ID id : keys) {
+                Object key = key(id);
+                generations.put(key, entityCache.generation(key));
+                R cached = entityCache.get(key);
+                if (cached != null) {
+                    result.add(mapper.map(cached));
+                } else {
+                    missing.put(key, id);
+                }
+            }
+            for (Condition condition : in(pk, new ArrayList<>(missing.values()))) {
+                for (R record : jooq.selectFrom(table).where(condition).fetch()) {
+                    Long generation = generations.get(recordKey(pk, record));
+                    if (generation != null) {
+                        entityCache.put(recordKey(pk, record), record, generation);
+                    }
+                    result.add(mapper.map(record));
+                }
+            }
+        } else if (pk != null) {
+            for (Condition condition : in(pk, keys)) {
+                result.addAll(jooq
+                        .selectFrom(table)
+                        .where(condition)
+                        .fetch()
+                        .map(mapper));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<E> findAllInIdOrder(Iterable<ID> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        Field<?>[] pk = pk();
+        List<ID> keys = new ArrayList<>();
+        ids.forEach(keys::add);
+
         List<E> result = new ArrayList<>();
         if (pk != null) {
-            result = jooq
-                    .selectFrom(table)
-                    .where(in(pk, keys))
-                    .fetch()
-                    .map(mapper);
+            Map<Object, R> records = new HashMap<>();
+            for (Condition condition : in(pk, keys)) {
+                for (R record : jooq.selectFrom(table).where(condition).fetch()) {
+                    records.put(recordKey(pk, record), record);
+                }
+            }
+            for (ID id : keys) {
+                R record = records.get(key(id));
+                if (record != null) {
+                    result.add(mapper.map(record));
+                }
+            }
         }
         return result;
     }
@@ -129,91 +404,93 @@ public class SimpleJooqRepository<R extends UpdatableRecord<R>, T extends Table<
         if (pageable == null) {
             return new PageImpl<>(findAll());
         }
+        if (countStrategy == CountStrategy.WINDOW && supportsWindowFunctions()) {
+            return findPageWithWindowCount(pageable);
+        }
         SelectQuery<R> query = getQuery(pageable);
-        return new PageImpl<>(query.fetch().map(mapper), pageable, count());
+        List<E> content = query.fetch().map(mapper);
+        return new PageImpl<>(content, pageable, total(pageable, content.size()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public E findOne(ID id) {
-        Field<?>[] pk = pk();
-        R record = null;
+    public Slice<E> findSlice(Pageable pageable) {
+        Assert.notNull(pageable, "Pageable must not be null!");
+        SelectQuery<R> query = getQuery(pageable.getSort());
+        query.addLimit(pageable.getOffset(), pageable.getPageSize() + 1);
 
-        if (pk != null) {
-            record = jooq
-                    .selectFrom(table)
-                    .where(equal(pk, id))
-                    .fetchOne();
-        }
-        return record == null ? null : mapper.map(record);
+        List<E> content = query.fetch().map(mapper);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public boolean exists(ID id) {
+    @SuppressWarnings("unchecked")
+    public <P> P findOne(ID id, Class<P> type) {
+        if (isEntityType(type)) {
+            return (P) findOne(id);
+        }
+        JooqProjection<R, E, P> projection = projection(type);
         Field<?>[] pk = pk();
-
-        return pk != null && jooq
-                .selectCount()
-                .from(table)
-                .where(equal(pk, id))
-                .fetchOne(0, Integer.class) > 0;
+        if (pk == null) {
+            return null;
+        }
+        if (entityCache != null) {
+            R cached = entityCache.get(key(id));
+            if (cached != null) {
+                return projection.map(cached);
+            }
+        }
+        return jooq.select(projection.fields()).from(table).where(equal(pk, id)).fetchOne(projection);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public long count() {
-        return jooq
-                .selectCount()
-                .from(table)
-                .fetchOne(0, Long.class);
+    public <P> List<P> findAll(Class<P> type) {
+        return findAll((Sort) null, type);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public <S extends E> S save(S entity) {
-        Assert.notNull(entity);
-        R record;
-
-        if (entityInformation.isNew(entity)) {
-            record = jooq.newRecord(table, entity);
-        } else {
-            R fetched = fetchById(getId(entity));
-            if (fetched != null) {
-                fetched.from(entity);
-                record = fetched;
-            } else {
-                record = jooq.newRecord(table, entity);
-            }
+    @SuppressWarnings("unchecked")
+    public <P> List<P> findAll(Sort sort, Class<P> type) {
+        if (isEntityType(type)) {
+            return (List<P>) findAll(sort);
         }
-        record.store();
-        return record.into(entity);
+        JooqProjection<R, E, P> projection = projection(type);
+        return getQuery(sort, projection).fetch(projection);
     }
 
     /**
      * {@inheritDoc}
-     * <p>
-     * NOTE: Please note that the case of large number of entity to be saved which is becomes very slowly.
-     * Because in the inside are calling the save() in the loop.
-     * </p>
      */
     @Override
-    public <S extends E> Iterable<S> save(Iterable<S> entities) {
-        if (entities == null) {
+    @SuppressWarnings("unchecked")
+    public <P> List<P> findAll(Iterable<ID> ids, Class<P> type) {
+        if (isEntityType(type)) {
+            return (List<P>) findAll(ids);
+        }
+        JooqProjection<R, E, P> projection = projection(type);
+        Field<?>[] pk = pk();
+        if (ids == null || pk == null) {
             return Collections.emptyList();
         }
-        // TODO if jOOQ supports auto-generated ID when the batch update, modify using it here.
-        // See: https://github.com/jOOQ/jOOQ/issues/3327
-        List<S> result = new ArrayList<>();
-        entities.forEach(entity -> result.add(save(entity)));
+        List<ID> keys = new ArrayList<>();
+        ids.forEach(keys::add);
+
+        List<P> result = new ArrayList<>();
+        for (Condition condition : in(pk, keys)) {
+            result.addAll(jooq.select(projection.fields()).from(table).where(condition).fetch(projection));
+        }
         return result;
     }
 
@@ -221,126 +498,1433 @@ public class SimpleJooqRepository<R extends UpdatableRecord<R>, T extends Table<
      * {@inheritDoc}
      */
     @Override
-    public void delete(ID id) {
-        Field<?>[] pk = pk();
-
-        if (pk != null) {
-            jooq
-                    .deleteFrom(table)
-                    .where(equal(pk, id))
-                    .execute();
+    @SuppressWarnings("unchecked")
+    public <P> Page<P> findAll(Pageable pageable, Class<P> type) {
+        if (isEntityType(type)) {
+            return (Page<P>) findAll(pageable);
+        }
+        if (pageable == null) {
+            return new PageImpl<>(findAll(type));
         }
+        JooqProjection<R, E, P> projection = projection(type);
+        SelectQuery<Record> query = getQuery(pageable.getSort(), projection);
+        query.addLimit(pageable.getOffset(), pageable.getPageSize());
+        List<P> content = query.fetch(projection);
+        return new PageImpl<>(content, pageable, total(pageable, content.size()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void delete(E entity) {
-        delete(Collections.singletonList(entity));
+    @SuppressWarnings("unchecked")
+    public <P> Slice<P> findSlice(Pageable pageable, Class<P> type) {
+        if (isEntityType(type)) {
+            return (Slice<P>) findSlice(pageable);
+        }
+        Assert.notNull(pageable, "Pageable must not be null!");
+        JooqProjection<R, E, P> projection = projection(type);
+        SelectQuery<Record> query = getQuery(pageable.getSort(), projection);
+        query.addLimit(pageable.getOffset(), pageable.getPageSize() + 1);
+
+        List<P> content = query.fetch(projection);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void delete(Iterable<? extends E> entities) {
+    public SeekSlice<E> findAll(SeekRequest request) {
+        Assert.notNull(request, "Seek request must not be null!");
         Field<?>[] pk = pk();
+        if (pk == null) {
+            throw new UnsupportedOperationException("Keyset pagination requires a primary key.");
+        }
 
-        if (pk != null) {
-            List<ID> ids = new ArrayList<>();
-            entities.forEach(entity -> ids.add(getId(entity)));
-            jooq
-                    .deleteFrom(table)
-                    .where(in(pk, ids))
-                    .execute();
+        List<Field<?>> keyFields = new ArrayList<>();
+        List<Sort.Order> orders = new ArrayList<>();
+        List<SortField<?>> orderBy = new ArrayList<>();
+        if (request.getSort() != null) {
+            for (Sort.Order order : request.getSort()) {
+                Field<?> field = field(order.getProperty());
+                if (field == null) {
+                    throw new IllegalArgumentException(String.format("No column found for sort property %s of %s!",
+                            order.getProperty(), table.getName()));
+                }
+                if (!keyFields.contains(field)) {
+                    keyFields.add(field);
+                    orders.add(order);
+                    orderBy.add(seekSortField(field, order));
+                }
+            }
+        }
+        for (Field<?> field : pk) {
+            if (!keyFields.contains(field)) {
+                keyFields.add(field);
+                orders.add(new Sort.Order(Sort.Direction.ASC, field.getName()));
+                orderBy.add(field.asc());
+            }
+        }
+
+        SelectQuery<R> query = jooq.selectQuery(table);
+        query.addOrderBy(orderBy);
+        Object[] lastKey = request.getLastKey();
+        if (lastKey != null) {
+            Assert.isTrue(lastKey.length == keyFields.size(),
+                    "Last key must contain a value for every sort column and the primary key!");
+            for (int i = 0; i < lastKey.length; i++) {
+                lastKey[i] = keyFields.get(i).getDataType().convert(lastKey[i]);
+            }
+            query.addConditions(seek(keyFields, orders, lastKey));
+        }
+        query.addLimit(request.getPageSize() + 1);
+        List<R> records = query.fetch();
+        boolean hasNext = records.size() > request.getPageSize();
+        if (hasNext) {
+            records = records.subList(0, request.getPageSize());
         }
-    }
 
+        Object[] nextKey = null;
+        if (!records.isEmpty()) {
+            R last = records.get(records.size() - 1);
+            nextKey = new Object[keyFields.size()];
+            for (int i = 0; i < nextKey.length; i++) {
+                nextKey[i] = last.get(keyFields.get(i));
+            }
+        }
 
+        List<E> content = new ArrayList<>(records.size());
+        records.forEach(record -> content.add(mapper.map(record)));
+        return new SeekSlice<>(content, request, hasNext, nextKey);
+    }
 
     /**
-     * Deletion of all the records is not supported for ensure safety.
+     * {@inheritDoc}
      */
     @Override
-    public final void deleteAll() {
-        throw new UnsupportedOperationException("deleteAll() is not supported.");
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<E> streamAll() {
+        return stream(jooq.selectFrom(table).getQuery());
     }
 
-    private ID getId(E entity) {
-        Assert.notNull(entity);
-        ID id = (ID) entityInformation.getId(entity);
-        return id;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<E> streamAll(Sort sort) {
+        return stream(getQuery(sort));
     }
 
-    private Field<?>[] pk() {
-        UniqueKey<R> key = table.getPrimaryKey();
-        return key == null ? null : key.getFieldsArray();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<E> streamAll(Iterable<ID> ids) {
+        Field<?>[] pk = pk();
+        if (ids == null || pk == null) {
+            return Stream.empty();
+        }
+        List<ID> keys = new ArrayList<>();
+        ids.forEach(keys::add);
+        if (keys.isEmpty()) {
+            return Stream.empty();
+        }
+        return in(pk, keys).stream()
+                .flatMap(condition -> stream(jooq.selectFrom(table).where(condition).getQuery()));
     }
 
-    @SuppressWarnings("unchecked")
-    private Condition equal(Field<?>[] pk, ID id) {
-        if (pk.length == 1) {
-            return ((Field<Object>) pk[0]).equal(pk[0].getDataType().convert(id));
-        } else {
-            return row(pk).equal((Record) id);
+    /**
+     * Returns all entities sorted by the given options as a stream read on a connection of its own, for readers
+     * outside of any transaction such as {@link SimpleReactiveJooqRepository}.
+     *
+     * @param sort can be {@literal null}.
+     * @return a lazily mapped stream of all entities, which has to be closed after use.
+     * @see #pinned(Function)
+     */
+    Stream<E> streamAllPinned(Sort sort) {
+        return pinned(configuration -> {
+            SelectQuery<R> query = getQuery(sort);
+            query.attach(configuration);
+            return stream(query);
+        });
+    }
+
+    /**
+     * Returns all entities with the given IDs as a stream read on a connection of its own.
+     *
+     * @param ids
+     * @return a lazily mapped stream of the entities found, which has to be closed after use.
+     * @see #pinned(Function)
+     */
+    Stream<E> streamAllPinned(Iterable<ID> ids) {
+        Field<?>[] pk = pk();
+        if (ids == null || pk == null) {
+            return Stream.empty();
+        }
+        List<ID> keys = new ArrayList<>();
+        ids.forEach(keys::add);
+        if (keys.isEmpty()) {
+            return Stream.empty();
         }
+        return pinned(configuration -> in(pk, keys).stream().flatMap(condition -> {
+            SelectQuery<R> query = jooq.selectFrom(table).where(condition).getQuery();
+            query.attach(configuration);
+            return stream(query);
+        }));
     }
 
-    @SuppressWarnings("SuspiciousToArrayCall")
-    private Condition in(Field<?>[] pk, Collection<ID> ids) {
-        if (pk.length == 1) {
-            if (ids.size() == 1) {
-                return equal(pk, ids.iterator().next());
-            } else {
-                return pk[0].in(pk[0].getDataType().convert(ids));
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E findOne(ID id) {
+        R record;
+        if (entityCache != null && pk() != null) {
+            Object key = key(id);
+            long generation = entityCache.generation(key);
+            record = entityCache.get(key);
+            if (record == null) {
+                record = fetchById(id);
+                if (record != null) {
+                    entityCache.put(key, record, generation);
+                }
             }
         } else {
-            return row(pk).in(ids.toArray(new Record[ids.size()]));
+            record = fetchById(id);
         }
+        return record == null ? null : mapper.map(record);
     }
 
-    private R fetchById(ID id) {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(ID id) {
         Field<?>[] pk = pk();
-        R record = null;
 
-        if (pk != null) {
-            record = jooq
-                    .selectFrom(table)
-                    .where(equal(pk, id))
-                    .fetchOne();
+        if (pk != null && entityCache != null && entityCache.get(key(id)) != null) {
+            return true;
         }
-
-        return record == null ? null : record;
+        if (pk != null && metadata.isPrecompiled()) {
+            return jooq.fetchOne(metadata.existsSql(), metadata.bindValues(id)) != null;
+        }
+        return pk != null && jooq.fetchExists(jooq
+                .selectOne()
+                .from(table)
+                .where(equal(pk, id)));
     }
 
-    private SelectQuery<R> getQuery(Sort sort) {
-        SelectQuery<R> query = jooq.selectFrom(table).getQuery();
-        // Do not sort if specified sort condition.
-        if (sort == null) {
-            return query;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * IDs held by the entity cache aren't queried. The others are looked up in chunks of
+     * {@link #setMaxInListSize(int) maximum IN list size}, selecting the primary key columns only.
+     * </p>
+     */
+    @Override
+    public Set<ID> existing(Iterable<ID> ids) {
+        Field<?>[] pk = pk();
+        if (ids == null || pk == null) {
+            return Collections.emptySet();
         }
-        for (Sort.Order order : sort) {
-            // It's currently only allowed column name of lowercase.
-            Field<?> field = table.field(name(LOWER_CAMEL.to(LOWER_UNDERSCORE, order.getProperty())));
-            if (field == null) {
-                // TODO Consider later that can't find the field which has sort condition.
-                continue;
-            }
-            SortField<?> sortField;
-            if (order.getDirection() == Sort.Direction.ASC) {
-                sortField = field.asc();
+        List<ID> requested = new ArrayList<>();
+        ids.forEach(requested::add);
+
+        List<ID> missing = new ArrayList<>();
+        Set<Object> cached = new HashSet<>();
+        for (ID id : requested) {
+            Object key = key(id);
+            if (entityCache != null && entityCache.get(key) != null) {
+                cached.add(key);
             } else {
-                sortField = field.desc();
+                missing.add(id);
             }
-            query.addOrderBy(sortField);
         }
-        return query;
+        Set<Object> existing = missing.isEmpty() ? Collections.emptySet() : existingKeys(pk, missing);
+
+        Set<ID> result = new LinkedHashSet<>();
+        for (ID id : requested) {
+            Object key = key(id);
+            if (cached.contains(key) || existing.contains(key)) {
+                result.add(id);
+            }
+        }
+        return result;
     }
 
-    private SelectQuery<R> getQuery(Pageable pageable) {
-        SelectQuery<R> query = getQuery(pageable.getSort());
-        query.addLimit(pageable.getOffset(), pageable.getPageSize());
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count() {
+        return jooq.fetchOne(metadata.countSql()).get(0, Long.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends E> S findOne(Example<S> example) {
+        Result<R> records = fetch(examples.match(example), "findOne",
+                condition -> jooq.selectFrom(table).where(condition).limit(inline(2)));
+        if (records.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, records.size());
+        }
+        return records.isEmpty() ? null : (S) mapper.map(records.get(0));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <S extends E> List<S> findAll(Example<S> example) {
+        return findAll(example, (Sort) null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends E> List<S> findAll(Example<S> example, Sort sort) {
+        Result<R> records = fetch(examples.match(example), sort == null ? "findAll" : "findAll " + sort, condition -> {
+            SelectQuery<R> query = getQuery(sort);
+            query.addConditions(condition);
+            return query;
+        });
+        return (List<S>) records.map(mapper);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends E> Page<S> findAll(Example<S> example, Pageable pageable) {
+        if (pageable == null) {
+            return new PageImpl<>(findAll(example));
+        }
+        JooqExampleMatcher<R>.Match match = examples.match(example);
+        SelectQuery<R> query = getQuery(pageable);
+        query.addConditions(match.condition());
+        List<S> content = (List<S>) query.fetch().map(mapper);
+
+        long offset = pageable.getOffset();
+        // The total follows from the content if the page is incomplete.
+        if (content.size() > 0 && content.size() < pageable.getPageSize() || offset == 0 && content.isEmpty()) {
+            return new PageImpl<>(content, pageable, offset + content.size());
+        }
+        return new PageImpl<>(content, pageable, count(match));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <S extends E> long count(Example<S> example) {
+        return count(examples.match(example));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <S extends E> boolean exists(Example<S> example) {
+        JooqExampleMatcher<R>.Match match = examples.match(example);
+        String sql = match.sql("exists", condition -> jooq.selectOne().from(table).where(condition).limit(inline(1)));
+        if (sql != null) {
+            return jooq.fetch(sql, match.bindValues()).isNotEmpty();
+        }
+        return jooq.fetchExists(table, match.condition());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Existing entities of a versioned table, see {@link org.springframework.data.annotation.Version}, are updated by
+     * primary key and version in a single statement whatever the {@link #setSaveMode(SaveMode) save mode}.
+     * </p>
+     * <p>
+     * With a {@link #setWriteBehind(WriteBehindBuffer) write-behind buffer} the statement is queued until the
+     * transaction commits, the repository is {@link #flush() flushed} or a statement reads the table. Existing entities
+     * are then updated by primary key without being fetched, only their changed columns with
+     * {@link SaveMode#SNAPSHOT}, and inserted if the update affects no row. New entities of a table with an identity
+     * column are inserted right away to read back the generated key.
+     * </p>
+     *
+     * @throws OptimisticLockingFailureException if the row has been updated or deleted since the entity was read,
+     *             with a write-behind buffer only once the update is flushed.
+     */
+    @Override
+    @Transactional
+    public <S extends E> S save(S entity) {
+        Assert.notNull(entity);
+        R record;
+
+        if (isWritingBehind()) {
+            record = writeBehind(entity);
+        } else if (entityInformation.isNew(entity)) {
+            record = entityInformation.newRecord(jooq, entity);
+            initVersion(record);
+            record.store();
+        } else if (metadata.version() != null && pk() != null) {
+            record = versionedRecord(entity);
+            Query update = versionedUpdate(record);
+            if (update != null && update.execute() == 0) {
+                throw conflict(getId(entity));
+            }
+        } else if (saveMode == SaveMode.UPDATE_OR_INSERT && pk() != null) {
+            record = updateOrInsert(entity);
+        } else if (saveMode == SaveMode.UPSERT && pk() != null) {
+            record = upsert(entity);
+        } else {
+            record = changes(entity);
+            if (record == null) {
+                record = fetchAndStore(entity);
+            } else if (record.changed() && jooq.executeUpdate(record) == 0) {
+                record.changed(true);
+                record.insert();
+            }
+        }
+        evict(getId(entity));
+        S saved = entityInformation.into(record, entity);
+        if (snapshots != null) {
+            snapshots.put(saved, record);
+        }
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The entities are saved in chunks of {@link #setBatchSize(int) batch size}. For every chunk the existing
+     * entities are looked up with a single query, and new and existing entities are then written as JDBC batches.
+     * Generated keys are only read back for tables with an identity column: in one multi-row
+     * {@code INSERT .. RETURNING} where the dialect supports it, and record by record otherwise. With
+     * {@link SaveMode#SNAPSHOT} entities with a snapshot are not looked up and only their changed columns are updated.
+     * Existing entities of a versioned table are not looked up either, every update checks the version of its row.
+     * With a {@link #setWriteBehind(WriteBehindBuffer) write-behind buffer} every entity is queued as by
+     * {@link #save(Object)} instead.
+     * </p>
+     *
+     * @throws OptimisticLockingFailureException if any row has been updated or deleted since its entity was read.
+     */
+    @Override
+    @Transactional
+    public <S extends E> List<S> save(Iterable<S> entities) {
+        if (entities == null) {
+            return Collections.emptyList();
+        }
+        List<S> result = new ArrayList<>();
+        entities.forEach(result::add);
+
+        if (isWritingBehind()) {
+            result.forEach(this::save);
+            return result;
+        }
+        for (List<S> chunk : Lists.partition(result, batchSize)) {
+            saveBatch(chunk);
+        }
+        result.forEach(entity -> evict(getId(entity)));
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void delete(ID id) {
+        Field<?>[] pk = pk();
+        evict(id);
+
+        if (pk != null && isWritingBehind()) {
+            writeBehind.add(jooq, table, jooq.deleteFrom(table).where(equal(pk, id)), null);
+        } else if (pk != null && metadata.isPrecompiled()) {
+            jooq.execute(metadata.deleteSql(), metadata.bindValues(id));
+        } else if (pk != null) {
+            jooq
+                    .deleteFrom(table)
+                    .where(equal(pk, id))
+                    .execute();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void delete(E entity) {
+        delete(Collections.singletonList(entity));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void delete(Iterable<? extends E> entities) {
+        Field<?>[] pk = pk();
+
+        if (pk != null) {
+            List<ID> ids = new ArrayList<>();
+            entities.forEach(entity -> ids.add(getId(entity)));
+            ids.forEach(this::evict);
+            if (isWritingBehind()) {
+                ids.forEach(id -> writeBehind.add(jooq, table, jooq.deleteFrom(table).where(equal(pk, id)), null));
+                return;
+            }
+            for (Condition condition : in(pk, ids)) {
+                jooq
+                        .deleteFrom(table)
+                        .where(condition)
+                        .execute();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EntityCacheStatistics getEntityCacheStatistics() {
+        if (entityCache == null) {
+            return null;
+        }
+        CacheStats stats = entityCache.stats();
+        return new EntityCacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(), entityCache.size());
+    }
+
+
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All rows are deleted with a single statement within the surrounding transaction. Use
+     * {@link #purge(PurgeRequest)} to delete large tables in chunks committed on their own.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public void deleteAll() {
+        jooq.deleteFrom(table).execute();
+        if (entityCache != null) {
+            entityCache.clear();
+        }
+        cachedCount = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A chunk takes two statements: the first looks up the primary key closing the chunk by skipping
+     * {@link PurgeRequest#getChunkSize() chunk size} matching rows past the previous chunk, the second deletes the
+     * matching rows up to that key. Both seek along the primary key index, so every chunk costs the same regardless
+     * of how many rows have been deleted before.
+     * </p>
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PurgeProgress purge(PurgeRequest request) {
+        Assert.notNull(request, "Purge request must not be null!");
+        Field<?>[] pk = pk();
+        if (pk == null) {
+            throw new UnsupportedOperationException("Purging requires a primary key.");
+        }
+        Consumer<PurgeProgress> listener = request.getProgressListener();
+        long start = System.currentTimeMillis();
+        int chunks = 0;
+        long deleted = 0;
+        Object[] lastKey = null;
+
+        while (true) {
+            Object[] from = lastKey;
+            Chunk chunk = inChunkTransaction(() -> deleteChunk(pk, request, from));
+            if (entityCache != null) {
+                entityCache.clear();
+            }
+            cachedCount = null;
+
+            chunks++;
+            deleted += chunk.deleted;
+            boolean done = chunk.lastKey == null;
+            lastKey = done ? lastKey : chunk.lastKey;
+            PurgeProgress progress = new PurgeProgress(chunks, deleted, System.currentTimeMillis() - start, lastKey, done);
+            if (listener != null) {
+                listener.accept(progress);
+            }
+            if (done) {
+                return progress;
+            }
+            if (request.getPauseMillis() > 0) {
+                try {
+                    Thread.sleep(request.getPauseMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new PurgeProgress(chunks, deleted, System.currentTimeMillis() - start, lastKey, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the matching rows following the given key up to and including the key closing the chunk. The last
+     * chunk deletes all remaining rows and has no closing key.
+     */
+    private Chunk deleteChunk(Field<?>[] pk, PurgeRequest request, Object[] from) {
+        Condition remaining = from == null ? request.getCondition() : request.getCondition().and(after(pk, from));
+        Record boundary = jooq
+                .select(pk)
+                .from(table)
+                .where(remaining)
+                .orderBy(pk)
+                .limit(request.getChunkSize() - 1, 1)
+                .fetchOne();
+        Object[] to = boundary == null ? null : boundary.intoArray();
+        if (to != null) {
+            remaining = remaining.and(after(pk, to).not());
+        }
+        int deleted = jooq
+                .deleteFrom(table)
+                .where(remaining)
+                .execute();
+        return new Chunk(deleted, to);
+    }
+
+    private Chunk inChunkTransaction(Supplier<Chunk> chunk) {
+        if (chunkTransaction == null) {
+            return chunk.get();
+        }
+        return chunkTransaction.execute(status -> chunk.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Condition after(Field<?>[] pk, Object[] key) {
+        if (pk.length == 1) {
+            return ((Field<Object>) pk[0]).gt(key[0]);
+        }
+        return row(pk).gt(key);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LoadResult load(Iterator<? extends E> entities, LoadOptions options) {
+        Assert.notNull(entities, "Entities must not be null!");
+        Iterator<R> records = Iterators.transform(entities, entity -> entityInformation.newRecord(jooq, entity));
+        try {
+            return load(options, loader -> loader.loadRecords(records).fields(table.fields()));
+        } catch (IOException e) {
+            // Records are never read from a stream.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LoadResult loadCsv(Reader csv, LoadOptions options) throws IOException {
+        Assert.notNull(csv, "CSV must not be null!");
+        return load(options, loader -> loader.loadCSV(csv).fields(this::loadField));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LoadResult loadJson(Reader json, LoadOptions options) throws IOException {
+        Assert.notNull(json, "JSON must not be null!");
+        return load(options, loader -> loader.loadJSON(json).fields(this::loadField));
+    }
+
+    /**
+     * Runs a load within the surrounding transaction if there is one. Otherwise pins a single connection for the
+     * whole load, since jOOQ's loader commits on a connection acquired for the commit alone, which is not the one the
+     * rows have been inserted on unless the connection provider always returns the same connection.
+     */
+    private LoadResult load(LoadOptions options, Function<LoaderOptionsStep<R>, LoaderLoadStep<R>> source) throws IOException {
+        Assert.notNull(options, "Load options must not be null!");
+        try {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return load(jooq, options, false, source);
+            }
+            ConnectionProvider provider = jooq.configuration().connectionProvider();
+            Connection connection = provider.acquire();
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    DSLContext pinned = DSL.using(jooq.configuration().derive(new DefaultConnectionProvider(connection)));
+                    LoadResult result = load(pinned, options, true, source);
+                    connection.commit();
+                    return result;
+                } catch (RuntimeException | IOException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("Could not prepare the connection for loading.", e);
+            } finally {
+                provider.release(connection);
+            }
+        } finally {
+            if (entityCache != null) {
+                entityCache.clear();
+            }
+            cachedCount = null;
+        }
+    }
+
+    private LoadResult load(DSLContext context, LoadOptions options, boolean commit,
+            Function<LoaderOptionsStep<R>, LoaderLoadStep<R>> source) throws IOException {
+        LoaderOptionsStep<R> loader = context.loadInto(table);
+        switch (options.getOnDuplicate()) {
+            case IGNORE:
+                loader = loader.onDuplicateKeyIgnore();
+                break;
+            case UPDATE:
+                loader = loader.onDuplicateKeyUpdate();
+                break;
+            default:
+                loader = loader.onDuplicateKeyError();
+        }
+        loader = options.isContinueOnError() ? loader.onErrorIgnore() : loader.onErrorAbort();
+        // jOOQ rejects multi-row inserts combined with duplicate key handling, and batches with ignored duplicates.
+        boolean bulk = options.getBulkSize() > 1 && options.getOnDuplicate() == LoadOptions.OnDuplicate.FAIL;
+        boolean batch = options.getBatchSize() > 1 && options.getOnDuplicate() != LoadOptions.OnDuplicate.IGNORE;
+        loader = bulk ? loader.bulkAfter(options.getBulkSize()) : loader.bulkNone();
+        loader = batch ? loader.batchAfter(options.getBatchSize()) : loader.batchNone();
+        if (!commit) {
+            loader = loader.commitNone();
+        } else {
+            loader = options.getCommitSize() > 0 ? loader.commitAfter(options.getCommitSize()) : loader.commitAll();
+        }
+        Loader<R> result = source.apply(loader).execute();
+        return new LoadResult(result.processed(), result.stored(), result.ignored(), result.errors());
+    }
+
+    /**
+     * Maps a column of a CSV or JSON source to the field of the entity property or column it is named after.
+     */
+    private Field<?> loadField(LoaderFieldMapper.LoaderFieldContext context) {
+        return metadata.field(context.field().getName());
+    }
+
+    /**
+     * Evicts the entity with the given id from the entity cache and discards the cached count.
+     */
+    private void evict(ID id) {
+        cachedCount = null;
+        if (entityCache != null && id != null && pk() != null) {
+            entityCache.evict(key(id));
+        }
+    }
+
+    private ID getId(E entity) {
+        Assert.notNull(entity);
+        ID id = (ID) entityInformation.getId(entity);
+        return id;
+    }
+
+    private Field<?>[] pk() {
+        return metadata.primaryKey();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Condition equal(Field<?>[] pk, ID id) {
+        if (pk.length == 1) {
+            return ((Field<Object>) pk[0]).equal(pk[0].getDataType().convert(id));
+        } else {
+            return row(pk).equal((Record) id);
+        }
+    }
+
+    /**
+     * Splits the given IDs into {@code IN} conditions which respect the bind value limit of the dialect. Every chunk
+     * is padded to a power of two by repeating its last ID, so only a few distinct statements are rendered for
+     * arbitrary numbers of IDs. PostgreSQL binds a single array instead.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Condition> in(Field<?>[] pk, List<ID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (ids.size() == 1) {
+            return Collections.singletonList(equal(pk, ids.get(0)));
+        }
+        if (pk.length == 1 && jooq.configuration().dialect().family() == SQLDialect.POSTGRES) {
+            Field<Object> field = (Field<Object>) pk[0];
+            Object[] values = field.getDataType().convert(ids.toArray());
+            return Collections.singletonList(field.eq(any(val(values, field.getDataType().getArrayDataType()))));
+        }
+
+        int chunkSize = Math.max(1, Math.min(maxInListSize, maxBindValues() / pk.length));
+        List<Condition> conditions = new ArrayList<>();
+        for (List<ID> chunk : Lists.partition(ids, chunkSize)) {
+            List<ID> padded = new ArrayList<>(chunk);
+            int size = Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, chunkSize);
+            while (padded.size() < size) {
+                padded.add(chunk.get(chunk.size() - 1));
+            }
+            if (pk.length == 1) {
+                conditions.add(pk[0].in(pk[0].getDataType().convert(padded)));
+            } else {
+                conditions.add(row(pk).in(padded.toArray(new Record[padded.size()])));
+            }
+        }
+        return conditions;
+    }
+
+    private int maxBindValues() {
+        switch (jooq.configuration().dialect().family()) {
+            case SQLITE:
+                return 999;
+            default:
+                return Short.MAX_VALUE;
+        }
+    }
+
+    private boolean supportsWindowFunctions() {
+        // Decided by the dialect rather than its family, e.g. FIREBIRD_2_5 lacks window functions FIREBIRD_3_0 has.
+        switch (jooq.configuration().dialect()) {
+            case CUBRID:
+            case FIREBIRD:
+            case FIREBIRD_3_0:
+            case POSTGRES:
+            case POSTGRES_9_3:
+            case POSTGRES_9_4:
+            case POSTGRES_9_5:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private Page<E> findPageWithWindowCount(Pageable pageable) {
+        Field<Integer> totalCount = DSL.count().over().as("total_count");
+        SelectQuery<Record> query = jooq.selectQuery();
+        query.addSelect(table.fields());
+        query.addSelect(totalCount);
+        query.addFrom(table);
+        addOrderBy(query, pageable.getSort());
+        query.addLimit(pageable.getOffset(), pageable.getPageSize());
+
+        Result<Record> result = query.fetch();
+        List<E> content = new ArrayList<>(result.size());
+        result.forEach(record -> content.add(mapper.map(record.into(table))));
+        // An empty page beyond the last one carries no total, so it has to be counted separately.
+        long count = result.isEmpty() ? total(pageable, 0) : result.get(0).get(totalCount);
+        return new PageImpl<>(content, pageable, count);
+    }
+
+    private long total(Pageable pageable, int contentSize) {
+        long offset = pageable.getOffset();
+        // The total follows from the content if the page is incomplete.
+        if (contentSize > 0 && contentSize < pageable.getPageSize() || offset == 0 && contentSize == 0) {
+            return offset + contentSize;
+        }
+        switch (countStrategy) {
+            case CACHED:
+                return cachedCount();
+            case ESTIMATED:
+                Long estimate = RowCountEstimator.estimate(jooq, table);
+                return estimate == null ? count() : Math.max(estimate, offset + contentSize);
+            default:
+                return count();
+        }
+    }
+
+    private long cachedCount() {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cachedCount;
+        if (cached == null || now >= cached.expiry) {
+            cached = new CachedCount(count(), now + countCacheTtl);
+            cachedCount = cached;
+        }
+        return cached.count;
+    }
+
+    private Stream<E> stream(ResultQuery<R> query) {
+        if (fetchSize > 0) {
+            query.fetchSize(fetchSize);
+        }
+        Cursor<R> cursor = query.fetchLazy();
+        // Cursor.stream() claims a known size of zero, which lets terminal operations such as count() skip the cursor
+        Spliterator<R> records = Spliterators.spliteratorUnknownSize(cursor.iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(records, false).map(mapper::map).onClose(cursor::close);
+    }
+
+    /**
+     * Opens the stream of the given source on a connection of its own, held until the stream is closed. The
+     * connection reads in a read-only transaction with auto-commit disabled, without which drivers such as
+     * PostgreSQL's ignore the fetch size and read the whole result into memory.
+     */
+    private Stream<E> pinned(Function<Configuration, Stream<E>> source) {
+        ConnectionProvider provider = jooq.configuration().connectionProvider();
+        Connection connection = provider.acquire();
+        boolean autoCommit;
+        boolean readOnly;
+        try {
+            autoCommit = connection.getAutoCommit();
+            readOnly = connection.isReadOnly();
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            provider.release(connection);
+            throw new DataAccessResourceFailureException("Could not prepare the connection for streaming.", e);
+        }
+        Runnable release = () -> {
+            try {
+                connection.commit();
+                connection.setAutoCommit(autoCommit);
+                connection.setReadOnly(readOnly);
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("Could not reset the connection after streaming.", e);
+            } finally {
+                provider.release(connection);
+            }
+        };
+        try {
+            return source.apply(jooq.configuration().derive(new DefaultConnectionProvider(connection))).onClose(release);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+    }
+
+    private R fetchAndStore(E entity) {
+        R fetched = fetchById(getId(entity));
+        if (fetched == null) {
+            R record = entityInformation.newRecord(jooq, entity);
+            record.store();
+            return record;
+        }
+        Object[] original = fetched.intoArray();
+        entityInformation.unmap(entity, fetched);
+        if (JooqEntitySnapshots.retainChanges(fetched, original)) {
+            fetched.store();
+        }
+        return fetched;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void initVersion(R record) {
+        Field<?> version = metadata.version();
+        if (version != null && record.get(version) == null) {
+            record.set((Field<Object>) version, metadata.nextVersion(null));
+        }
+    }
+
+    /**
+     * Returns a record of the given existing entity of a versioned table, marking only the fields changed since its
+     * snapshot was taken as changed if there is one and all but the primary key otherwise.
+     */
+    private R versionedRecord(E entity) {
+        R record = changes(entity);
+        if (record == null) {
+            record = entityInformation.newRecord(jooq, entity);
+            for (Field<?> field : pk()) {
+                record.changed(field, false);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Returns the statement updating the changed fields of the given record by primary key and version and advances
+     * the version of the record, or returns {@literal null} if no field has changed.
+     */
+    @SuppressWarnings("unchecked")
+    private Query versionedUpdate(R record) {
+        if (!record.changed()) {
+            return null;
+        }
+        Field<Object> version = (Field<Object>) metadata.version();
+        Object current = record.get(version);
+        record.set(version, metadata.nextVersion(current));
+
+        Map<Field<?>, Object> values = new LinkedHashMap<>();
+        for (Field<?> field : record.fields()) {
+            if (record.changed(field)) {
+                values.put(field, record.get(field));
+            }
+        }
+        List<Condition> conditions = keyConditions(record);
+        conditions.add(current == null ? version.isNull() : version.eq(current));
+        return jooq.update(table).set(values).where(conditions);
+    }
+
+    /**
+     * Executes the given versioned updates as one JDBC batch per statement shape and fails if any of them did not
+     * affect a row. Drivers which report {@link java.sql.Statement#SUCCESS_NO_INFO} cannot be checked.
+     */
+    private <S extends E> void executeVersioned(List<Query> updates, List<S> entities) {
+        Map<String, List<Integer>> shapes = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            shapes.computeIfAbsent(updates.get(i).getSQL(), sql -> new ArrayList<>()).add(i);
+        }
+        List<ID> conflicts = new ArrayList<>();
+        for (List<Integer> shape : shapes.values()) {
+            BatchBindStep batch = jooq.batch(updates.get(shape.get(0)));
+            for (int i : shape) {
+                batch = batch.bind(updates.get(i).getBindValues().toArray());
+            }
+            int[] counts = batch.execute();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    conflicts.add(getId(entities.get(shape.get(i))));
+                }
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new OptimisticLockingFailureException(String.format(
+                    "%s with ids %s have been updated or deleted by another transaction.",
+                    entityInformation.getJavaType().getSimpleName(), conflicts));
+        }
+    }
+
+    /**
+     * Returns a record of the given entity marking only the fields changed since its snapshot was taken as changed,
+     * or {@literal null} if there is no snapshot or the primary key has changed.
+     */
+    private R changes(E entity) {
+        Object[] snapshot = snapshots == null || entityInformation.isNew(entity) ? null : snapshots.get(entity);
+        if (snapshot == null || pk() == null) {
+            return null;
+        }
+        R record = entityInformation.newRecord(jooq, entity);
+        JooqEntitySnapshots.retainChanges(record, snapshot);
+        return JooqEntitySnapshots.isChanged(record, pk()) ? null : record;
+    }
+
+    private boolean isWritingBehind() {
+        return writeBehind != null && pk() != null && writeBehind.isActive();
+    }
+
+    /**
+     * Queues the statement saving the given entity in the write-behind buffer and returns the record saved.
+     */
+    private R writeBehind(E entity) {
+        R record;
+        if (entityInformation.isNew(entity)) {
+            record = entityInformation.newRecord(jooq, entity);
+            initVersion(record);
+            Identity<R, ?> identity = table.getIdentity();
+            if (identity != null && record.get(identity.getField()) == null) {
+                writeBehind.flush();
+                record.store();
+            } else {
+                writeBehind.add(jooq, table, jooq.insertInto(table).set(record), null);
+            }
+        } else if (metadata.version() != null) {
+            record = versionedRecord(entity);
+            Query update = versionedUpdate(record);
+            if (update != null) {
+                ID id = getId(entity);
+                writeBehind.add(jooq, table, update, () -> {
+                    throw conflict(id);
+                });
+            }
+        } else {
+            record = changes(entity);
+            if (record == null) {
+                record = entityInformation.newRecord(jooq, entity);
+                for (Field<?> field : pk()) {
+                    record.changed(field, false);
+                }
+            }
+            if (record.changed()) {
+                Query insert = jooq.insertInto(table).set(entityInformation.newRecord(jooq, entity));
+                writeBehind.add(jooq, table, jooq.update(table).set(record).where(keyConditions(record)), () -> insert);
+            }
+        }
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Condition> keyConditions(R record) {
+        List<Condition> conditions = new ArrayList<>();
+        for (Field<?> field : pk()) {
+            conditions.add(((Field<Object>) field).eq(record.get(field)));
+        }
+        return conditions;
+    }
+
+    private OptimisticLockingFailureException conflict(ID id) {
+        return new OptimisticLockingFailureException(String.format(
+                "%s with id %s has been updated or deleted by another transaction.",
+                entityInformation.getJavaType().getSimpleName(), id));
+    }
+
+    private R updateOrInsert(E entity) {
+        R record = entityInformation.newRecord(jooq, entity);
+        for (Field<?> field : pk()) {
+            record.changed(field, false);
+        }
+        if (jooq.executeUpdate(record) == 0) {
+            record.changed(true);
+            record.insert();
+        }
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R upsert(E entity) {
+        R record = entityInformation.newRecord(jooq, entity);
+        List<Field<?>> pk = Arrays.asList(pk());
+
+        if (jooq.configuration().dialect().family() == SQLDialect.H2) {
+            // H2 has its own upsert syntax which jOOQ does not emulate ON DUPLICATE KEY UPDATE with
+            List<Field<?>> fields = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            for (Field<?> field : record.fields()) {
+                if (record.changed(field) || pk.contains(field)) {
+                    fields.add(field);
+                    values.add(record.get(field));
+                }
+            }
+            jooq.mergeInto(table, fields).key(pk).values(values).execute();
+            return record;
+        }
+
+        InsertQuery<R> upsert = jooq.insertQuery(table);
+        upsert.setRecord(record);
+        upsert.onDuplicateKeyUpdate(true);
+        for (Field<?> field : record.fields()) {
+            if (record.changed(field) && !pk.contains(field)) {
+                upsert.addValueForUpdate((Field<Object>) field, record.get(field));
+            }
+        }
+
+        if (jooq.configuration().dialect().family() == SQLDialect.POSTGRES) {
+            upsert.setReturning();
+            upsert.execute();
+            R returned = upsert.getReturnedRecord();
+            if (returned != null) {
+                record.from(returned);
+            }
+        } else {
+            upsert.execute();
+        }
+        return record;
+    }
+
+    private <S extends E> void saveBatch(List<S> entities) {
+        Field<?>[] pk = pk();
+        boolean versioned = pk != null && metadata.version() != null;
+        List<R> records = new ArrayList<>(entities.size());
+        List<ID> ids = new ArrayList<>();
+        for (S entity : entities) {
+            boolean isNew = entityInformation.isNew(entity);
+            R known = versioned && !isNew ? versionedRecord(entity) : changes(entity);
+            records.add(known);
+            if (known == null && !isNew) {
+                ids.add(getId(entity));
+            }
+        }
+        Set<Object> existing = pk == null || ids.isEmpty() ? Collections.emptySet() : existingKeys(pk, ids);
+
+        List<R> inserts = new ArrayList<>();
+        List<R> updates = new ArrayList<>();
+        List<Query> versionedUpdates = new ArrayList<>();
+        List<S> versionedEntities = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            S entity = entities.get(i);
+            R record = records.get(i);
+            if (record != null && versioned) {
+                Query update = versionedUpdate(record);
+                if (update != null) {
+                    versionedUpdates.add(update);
+                    versionedEntities.add(entity);
+                }
+                continue;
+            }
+            if (record != null) {
+                // Known to exist from its snapshot, so only updated if anything changed.
+                if (record.changed()) {
+                    updates.add(record);
+                }
+                continue;
+            }
+            record = entityInformation.newRecord(jooq, entity);
+            if (pk != null && !entityInformation.isNew(entity) && existing.contains(key(getId(entity)))) {
+                for (Field<?> field : pk) {
+                    record.changed(field, false);
+                }
+                updates.add(record);
+            } else {
+                initVersion(record);
+                inserts.add(record);
+            }
+            records.set(i, record);
+        }
+
+        insertBatch(inserts);
+        if (!updates.isEmpty()) {
+            jooq.batchUpdate(updates).execute();
+        }
+        if (!versionedUpdates.isEmpty()) {
+            executeVersioned(versionedUpdates, versionedEntities);
+        }
+        for (int i = 0; i < entities.size(); i++) {
+            entityInformation.into(records.get(i), entities.get(i));
+            if (snapshots != null) {
+                snapshots.put(entities.get(i), records.get(i));
+            }
+        }
+    }
+
+    private void insertBatch(List<R> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Identity<R, ?> identity = table.getIdentity();
+        if (identity == null) {
+            jooq.batchInsert(records).execute();
+            return;
+        }
+        for (R record : records) {
+            if (record.get(identity.getField()) == null) {
+                record.changed(identity.getField(), false);
+            }
+        }
+        if (jooq.configuration().dialect().family() == SQLDialect.POSTGRES) {
+            // A multi-row INSERT .. RETURNING reports the generated keys of all rows in their insertion order.
+            InsertQuery<R> insert = jooq.insertQuery(table);
+            for (int i = 0; i < records.size(); i++) {
+                if (i > 0) {
+                    insert.newRecord();
+                }
+                insert.setRecord(records.get(i));
+            }
+            insert.setReturning();
+            insert.execute();
+            Result<R> returned = insert.getReturnedRecords();
+            for (int i = 0; i < returned.size(); i++) {
+                records.get(i).from(returned.get(i));
+            }
+        } else {
+            // JDBC batches don't report generated keys, so identity tables are inserted record by record.
+            records.forEach(R::insert);
+        }
+    }
+
+    private Set<Object> existingKeys(Field<?>[] pk, List<ID> ids) {
+        Set<Object> keys = new HashSet<>();
+        for (Condition condition : in(pk, ids)) {
+            for (Record record : jooq.select(pk).from(table).where(condition).fetch()) {
+                keys.add(recordKey(pk, record));
+            }
+        }
+        return keys;
+    }
+
+    private static Object recordKey(Field<?>[] pk, Record record) {
+        if (pk.length == 1) {
+            return record.get(pk[0]);
+        }
+        Object[] values = new Object[pk.length];
+        for (int i = 0; i < pk.length; i++) {
+            values[i] = record.get(pk[i]);
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Returns the key of the given id as found in the primary key columns of a record, see
+     * {@link #recordKey(Field[], Record)}.
+     */
+    private Object key(ID id) {
+        Object[] values = metadata.bindValues(id);
+        return values.length == 1 ? values[0] : Arrays.asList(values);
+    }
+
+    private R fetchById(ID id) {
+        Field<?>[] pk = pk();
+        R record = null;
+
+        if (pk != null && metadata.isPrecompiled()) {
+            Result<R> result = jooq.resultQuery(metadata.findOneSql(), metadata.bindValues(id)).fetchInto(table);
+            record = result.isEmpty() ? null : result.get(0);
+        } else if (pk != null) {
+            record = jooq
+                    .selectFrom(table)
+                    .where(equal(pk, id))
+                    .fetchOne();
+        }
+
+        return record;
+    }
+
+    private SelectQuery<R> getQuery(Sort sort) {
+        SelectQuery<R> query = jooq.selectFrom(table).getQuery();
+        addOrderBy(query, sort);
+        return query;
+    }
+
+    private SelectQuery<Record> getQuery(Sort sort, JooqProjection<R, E, ?> projection) {
+        SelectQuery<Record> query = jooq.selectQuery();
+        query.addSelect(projection.fields());
+        query.addFrom(table);
+        addOrderBy(query, sort);
+        return query;
+    }
+
+    private long count(JooqExampleMatcher<R>.Match match) {
+        String sql = match.sql("count", condition -> jooq.selectCount().from(table).where(condition));
+        if (sql != null) {
+            return jooq.fetchOne(sql, match.bindValues()).get(0, Long.class);
+        }
+        return jooq.fetchCount(table, match.condition());
+    }
+
+    private Result<R> fetch(JooqExampleMatcher<R>.Match match, String kind, Function<Condition, ResultQuery<R>> query) {
+        String sql = match.sql(kind, query);
+        if (sql != null) {
+            return jooq.resultQuery(sql, match.bindValues()).fetchInto(table);
+        }
+        return query.apply(match.condition()).fetch();
+    }
+
+    private boolean isEntityType(Class<?> type) {
+        Assert.notNull(type, "Projection type must not be null!");
+        return type.isAssignableFrom(entityInformation.getJavaType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <P> JooqProjection<R, E, P> projection(Class<P> type) {
+        return (JooqProjection<R, E, P>) projections.computeIfAbsent(type,
+                key -> new JooqProjection<>(key, metadata, table, mapper, projectionFactory));
+    }
+
+    private void addOrderBy(SelectQuery<?> query, Sort sort) {
+        // Do not sort if specified sort condition.
+        if (sort == null) {
+            return;
+        }
+        for (Sort.Order order : sort) {
+            Field<?> field = field(order.getProperty());
+            if (field == null) {
+                // TODO Consider later that can't find the field which has sort condition.
+                continue;
+            }
+            query.addOrderBy(sortField(field, order));
+        }
+    }
+
+    private Field<?> field(String property) {
+        return metadata.field(property);
+    }
+
+    private static SortField<?> sortField(Field<?> field, Sort.Order order) {
+        if (order.getDirection() == Sort.Direction.ASC) {
+            return field.asc();
+        } else {
+            return field.desc();
+        }
+    }
+
+    /**
+     * Orders by the given property, placing NULLs explicitly for nullable columns so that {@link #seek(List, List,
+     * Object[])} knows on which side of the non-NULL values they sort.
+     */
+    private static SortField<?> seekSortField(Field<?> field, Sort.Order order) {
+        SortField<?> sortField = sortField(field, order);
+        if (!field.getDataType().nullable()) {
+            return sortField;
+        }
+        return nullsFirst(order) ? sortField.nullsFirst() : sortField.nullsLast();
+    }
+
+    /**
+     * {@link Sort.NullHandling#NATIVE} treats NULL as the largest value, i.e. NULLs come last in ascending and first in
+     * descending order.
+     */
+    private static boolean nullsFirst(Sort.Order order) {
+        switch (order.getNullHandling()) {
+            case NULLS_FIRST:
+                return true;
+            case NULLS_LAST:
+                return false;
+            default:
+                return !order.isAscending();
+        }
+    }
+
+    /**
+     * Builds the keyset predicate selecting the rows following the given key, i.e. {@code (a > ?) or (a = ? and b > ?)
+     * ...}. Unlike the row value comparison rendered by jOOQ's {@code seek()} this keeps rows whose key columns are
+     * NULL, comparing them according to the NULL ordering of each sort order.
+     */
+    @SuppressWarnings("unchecked")
+    private static Condition seek(List<Field<?>> keyFields, List<Sort.Order> orders, Object[] lastKey) {
+        List<Condition> or = new ArrayList<>(keyFields.size());
+        List<Condition> equal = new ArrayList<>(keyFields.size());
+        for (int i = 0; i < keyFields.size(); i++) {
+            Field<Object> field = (Field<Object>) keyFields.get(i);
+            Sort.Order order = orders.get(i);
+            boolean nullable = field.getDataType().nullable();
+            Object value = lastKey[i];
+
+            Condition following;
+            if (value == null) {
+                following = nullable && nullsFirst(order) ? field.isNotNull() : falseCondition();
+            } else {
+                following = order.isAscending() ? field.gt(value) : field.lt(value);
+                if (nullable && !nullsFirst(order)) {
+                    following = following.or(field.isNull());
+                }
+            }
+            or.add(and(equal).and(following));
+            equal.add(value == null ? field.isNull() : field.eq(value));
+        }
+        return or(or);
+    }
+
+    private SelectQuery<R> getQuery(Pageable pageable) {
+        SelectQuery<R> query = getQuery(pageable.getSort());
+        query.addLimit(pageable.getOffset(), pageable.getPageSize());
         return query;
     }
-}
\ No newline at end of file
+
+    private static class Chunk {
+
+        final int deleted;
+        final Object[] lastKey;
+
+        Chunk(int deleted, Object[] lastKey) {
+            this.deleted = deleted;
+            this.lastKey = lastKey;
+        }
+    }
+
+    /**
+     * A count cached by {@link CountStrategy#CACHED}, replaced as a whole so the count and its expiry are always read
+     * together.
+     */
+    private static class CachedCount {
+
+        final long count;
+        final long expiry;
+
+        CachedCount(long count, long expiry) {
+            this.count = count;
+            this.expiry = expiry;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jooq.repository.ReactiveJooqRepository;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Default implementation of {@link ReactiveJooqRepository} publishing the streaming finders of a
+ * {@link SimpleJooqRepository}. Every subscription reads its cursor on a connection of its own, held in a read-only
+ * transaction until the cursor completes or the subscription is cancelled.
+ *
+ * @author Johannes Buehler
+ */
+public class SimpleReactiveJooqRepository<R extends UpdatableRecord<R>, T extends Table<R>, E, ID extends Serializable>
+        implements ReactiveJooqRepository<E, ID> {
+
+    private final SimpleJooqRepository<R, T, E, ID> repository;
+    private Executor executor = AsyncExecutors.defaultExecutor();
+
+    /**
+     * Creates a new {@link SimpleReactiveJooqRepository} publishing the finders of the given repository.
+     *
+     * @param repository must not be {@literal null}.
+     */
+    public SimpleReactiveJooqRepository(SimpleJooqRepository<R, T, E, ID> repository) {
+        Assert.notNull(repository, "Repository must not be null!");
+        this.repository = repository;
+    }
+
+    /**
+     * Configures the {@link Executor} cursors are read on. Defaults to {@link AsyncExecutors#defaultExecutor()}.
+     *
+     * @param executor must not be {@literal null}.
+     */
+    public void setExecutor(Executor executor) {
+        Assert.notNull(executor, "Executor must not be null!");
+        this.executor = executor;
+    }
+
+    @Override
+    public Publisher<E> findOne(ID id) {
+        return publish(() -> {
+            E entity = repository.findOne(id);
+            return entity == null ? Stream.empty() : Stream.of(entity);
+        });
+    }
+
+    @Override
+    public Publisher<Boolean> exists(ID id) {
+        return publish(() -> Stream.of(repository.exists(id)));
+    }
+
+    @Override
+    public Publisher<E> findAll() {
+        return publish(() -> repository.streamAllPinned((Sort) null));
+    }
+
+    @Override
+    public Publisher<E> findAll(Sort sort) {
+        return publish(() -> repository.streamAllPinned(sort));
+    }
+
+    @Override
+    public Publisher<E> findAll(Iterable<ID> ids) {
+        return publish(() -> repository.streamAllPinned(ids));
+    }
+
+    @Override
+    public Publisher<Long> count() {
+        return publish(() -> Stream.of(repository.count()));
+    }
+
+    private <V> Publisher<V> publish(Supplier<Stream<V>> source) {
+        return new CursorPublisher<>(source, executor);
+    }
+}
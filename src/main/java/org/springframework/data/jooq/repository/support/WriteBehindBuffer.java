@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jooq.repository.support;
+
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.ForeignKey;
+import org.jooq.Query;
+import org.jooq.Table;
+import org.jooq.impl.DefaultExecuteListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Transaction-scoped buffer for the writes of {@link SimpleJooqRepository repositories} in write-behind mode. Within a
+ * read-write transaction the repositories queue their inserts, updates and deletes here rather than executing them.
+ * The queued statements are executed as JDBC batches when the transaction is about to commit, when a repository is
+ * {@link org.springframework.data.jooq.repository.JooqRepository#flush() flushed} and, as an
+ * {@link org.jooq.ExecuteListener} of the repositories' jOOQ configuration, right before any other statement which
+ * either isn't a query or references a table with queued writes. Statements executed through a jOOQ configuration the
+ * buffer is not registered with don't trigger a flush, so callers mixing those with repository writes have to flush
+ * first.
+ * <p>
+ * Statements of the same shape are executed as one batch. A statement joins the latest batch of its shape unless a
+ * statement on the same table, or on a table related to it by a foreign key, has been queued after that batch, so the
+ * order of the writes to any table and to the tables it references is kept. A single buffer is meant to be shared by
+ * all repositories of an application, as writes are only ordered against the writes queued in the same buffer.
+ * </p>
+ *
+ * @author Johannes Buehler
+ */
+public class WriteBehindBuffer extends DefaultExecuteListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Returns whether writes are buffered on the current thread, which requires an active read-write transaction with
+     * transaction synchronization.
+     *
+     * @return whether writes are buffered.
+     */
+    public boolean isActive() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Returns the number of statements queued in the current transaction.
+     *
+     * @return the number of pending statements.
+     */
+    public int getPendingCount() {
+        Pending pending = pending();
+        return pending == null ? 0 : pending.writes.size();
+    }
+
+    /**
+     * Executes the statements queued in the current transaction.
+     *
+     * @throws org.springframework.dao.OptimisticLockingFailureException if a versioned update affects no row.
+     */
+    public void flush() {
+        Pending pending = pending();
+        if (pending != null && !pending.writes.isEmpty()) {
+            // Drained first, the statements executed by the flush pass through this listener as well.
+            execute(pending.drain());
+        }
+    }
+
+    /**
+     * Queues the given statement in the current transaction, which requires the buffer to be {@link #isActive()
+     * active}.
+     *
+     * @param context the context to execute the statement with.
+     * @param table the table the statement writes to.
+     * @param statement the statement.
+     * @param fallback supplies the statement to execute instead if the given one affects no row, can be
+     *            {@literal null}.
+     */
+    void add(DSLContext context, Table<?> table, Query statement, Supplier<Query> fallback) {
+        Assert.state(isActive(), "No read-write transaction to buffer writes in!");
+        Pending pending = pending();
+        if (pending == null) {
+            pending = bind();
+        }
+        pending.writes.add(new Write(context, table, statement, fallback));
+        pending.tableNames.add(table.getName().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        Pending pending = pending();
+        if (pending != null && !pending.writes.isEmpty()
+                && (ctx.type() != ExecuteType.READ || ctx.sql() == null || pending.isReferencedBy(ctx.sql()))) {
+            flush();
+        }
+    }
+
+    private Pending pending() {
+        return (Pending) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private Pending bind() {
+        Pending pending = new Pending();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WriteBehindBuffer.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(WriteBehindBuffer.this, pending);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                WriteBehindBuffer.this.flush();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WriteBehindBuffer.this);
+            }
+        });
+        return pending;
+    }
+
+    private static void execute(List<Write> writes) {
+        for (List<Write> batch : batches(writes)) {
+            Write first = batch.get(0);
+            int[] counts;
+            if (batch.size() == 1) {
+                counts = new int[] { first.statement.execute() };
+            } else {
+                BatchBindStep step = first.context.batch(first.statement);
+                for (Write write : batch) {
+                    step = step.bind(write.statement.getBindValues().toArray());
+                }
+                counts = step.execute();
+            }
+            List<Write> fallbacks = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                Write write = batch.get(i);
+                Query fallback = counts[i] == 0 && write.fallback != null ? write.fallback.get() : null;
+                if (fallback != null) {
+                    fallbacks.add(new Write(write.context, write.table, fallback, null));
+                }
+            }
+            if (!fallbacks.isEmpty()) {
+                execute(fallbacks);
+            }
+        }
+    }
+
+    /**
+     * Groups the given statements into batches of the same SQL, moving a statement forward only past batches on
+     * unrelated tables.
+     */
+    private static List<List<Write>> batches(List<Write> writes) {
+        List<List<Write>> batches = new ArrayList<>();
+        for (Write write : writes) {
+            List<Write> target = null;
+            for (int i = batches.size() - 1; i >= 0; i--) {
+                Write last = batches.get(i).get(0);
+                if (last.sql.equals(write.sql)) {
+                    target = batches.get(i);
+                    break;
+                }
+                if (isRelated(last.table, write.table)) {
+                    break;
+                }
+            }
+            if (target == null) {
+                target = new ArrayList<>();
+                batches.add(target);
+            }
+            target.add(write);
+        }
+        return batches;
+    }
+
+    private static boolean isRelated(Table<?> table, Table<?> other) {
+        return table.equals(other) || references(table, other) || references(other, table);
+    }
+
+    private static boolean references(Table<?> table, Table<?> referenced) {
+        for (ForeignKey<?, ?> reference : table.getReferences()) {
+            if (reference.getKey().getTable().equals(referenced)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Pending {
+
+        private List<Write> writes = new ArrayList<>();
+        private final Set<String> tableNames = new LinkedHashSet<>();
+
+        List<Write> drain() {
+            List<Write> drained = writes;
+            writes = new ArrayList<>();
+            tableNames.clear();
+            return drained;
+        }
+
+        /**
+         * Returns whether the given SQL may reference a table with pending writes. Matching names case-insensitively
+         * anywhere in the SQL errs on the side of flushing.
+         */
+        boolean isReferencedBy(String sql) {
+            String upperCase = sql.toUpperCase(Locale.ROOT);
+            for (String tableName : tableNames) {
+                if (upperCase.contains(tableName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Write {
+
+        private final DSLContext context;
+        private final Table<?> table;
+        private final Query statement;
+        private final String sql;
+        private final Supplier<Query> fallback;
+
+        Write(DSLContext context, Table<?> table, Query statement, Supplier<Query> fallback) {
+            this.context = context;
+            this.table = table;
+            this.statement = statement;
+            this.sql = statement.getSQL();
+            this.fallback = fallback;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.springframework.data.jooq.repository.sample;
+
+import org.springframework.data.jooq.repository.JooqRepository;
+import org.springframework.stereotype.Repository;
+import sample.tables.pojos.Accounts;
+
+@Repository
+public interface AccountRepository extends JooqRepository<Accounts, Integer> {
+}
@@ -0,0 +1,9 @@
+package org.springframework.data.jooq.repository.sample;
+
+import org.springframework.data.jooq.repository.AsyncJooqRepository;
+import org.springframework.stereotype.Repository;
+import sample.tables.pojos.Users;
+
+@Repository
+public interface AsyncUserRepository extends AsyncJooqRepository<Users, Integer> {
+}
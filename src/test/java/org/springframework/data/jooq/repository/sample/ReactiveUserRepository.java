@@ -0,0 +1,9 @@
+package org.springframework.data.jooq.repository.sample;
+
+import org.springframework.data.jooq.repository.ReactiveJooqRepository;
+import org.springframework.stereotype.Repository;
+import sample.tables.pojos.Users;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveJooqRepository<Users, Integer> {
+}
@@ -1,13 +1,104 @@
 package org.springframework.data.jooq.repository.sample;
 
+import org.jooq.DSLContext;
+import org.jooq.Delete;
+import org.jooq.ExecuteContext;
+import org.jooq.Query;
+import org.jooq.RecordMapper;
+import org.jooq.SQLDialect;
+import org.jooq.Select;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultRecordMapper;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultExecuteListenerProvider;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jooq.repository.EntityCache;
+import org.springframework.data.jooq.repository.EntityCacheStatistics;
+import org.springframework.data.jooq.repository.JooqRepository;
+import org.springframework.data.jooq.repository.LoadOptions;
+import org.springframework.data.jooq.repository.LoadResult;
+import org.springframework.data.jooq.repository.PurgeProgress;
+import org.springframework.data.jooq.repository.PurgeRequest;
+import org.springframework.data.jooq.repository.SeekRequest;
+import org.springframework.data.jooq.repository.SeekSlice;
+import org.springframework.data.jooq.repository.config.EnableJooqRepositories;
+import org.springframework.data.jooq.repository.metrics.JmxRepositoryMetricsRegistry;
+import org.springframework.data.jooq.repository.metrics.RepeatedStatementDetector;
+import org.springframework.data.jooq.repository.metrics.RepeatedStatementException;
+import org.springframework.data.jooq.repository.metrics.RepositoryMethodStatistics;
+import org.springframework.data.jooq.repository.metrics.StatementCounts;
+import org.springframework.data.jooq.repository.routing.ReadReplicas;
+import org.springframework.data.jooq.repository.support.BootstrapMode;
+import org.springframework.data.jooq.repository.support.CountStrategy;
+import org.springframework.data.jooq.repository.support.JooqEntityCache;
+import org.springframework.data.jooq.repository.support.JooqEntityRegistry;
+import org.springframework.data.jooq.repository.support.JooqPersistableEntityInformation;
+import org.springframework.data.jooq.repository.support.JooqRepositoryFactory;
+import org.springframework.data.jooq.repository.support.JooqRepositoryFactoryBean;
+import org.springframework.data.jooq.repository.support.SaveMode;
+import org.springframework.data.jooq.repository.support.WriteBehindBuffer;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.tables.pojos.Accounts;
+import sample.tables.pojos.Events;
 import sample.tables.pojos.Users;
+import sample.tables.records.AccountsRecord;
+import sample.tables.records.UsersRecord;
 
+import javax.persistence.Column;
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static sample.tables.Accounts.ACCOUNTS;
+import static sample.tables.Users.USERS;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.*;
 
@@ -20,6 +111,33 @@ public class SampleRepositoryTest {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AsyncUserRepository asyncUserRepository;
+
+    @Autowired
+    ReactiveUserRepository reactiveUserRepository;
+
+    @Autowired
+    JmxRepositoryMetricsRegistry metricsRegistry;
+
+    @Autowired
+    RepeatedStatementDetector repeatedStatementDetector;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DSLContext dsl;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ApplicationContext context;
+
     @Test
     public void findById() throws Exception {
         Users joe = userRepository.findOne(1);
@@ -27,4 +145,1009 @@ public class SampleRepositoryTest {
         assertThat("User not found",joe.getId(),is(1));
 
     }
+
+    @Test
+    public void findByEmail() throws Exception {
+        Users gilles = userRepository.findByEmail("gilles.cornu@gmail.com");
+
+        assertThat("User not found",gilles.getId(),is(2));
+
+    }
+
+    @Test
+    public void findOneByExample() throws Exception {
+        Users user = userRepository.findOne(Example.of(new Users(null, null, "gilles.cornu@gmail.com")));
+
+        assertThat(user.getId(), is(2));
+    }
+
+    @Test
+    public void countByExampleIgnoringCase() throws Exception {
+        ExampleMatcher matcher = ExampleMatcher.matching().withIgnoreCase().withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING);
+
+        assertThat(userRepository.count(Example.of(new Users(null, null, "GMAIL"), matcher)), is(3L));
+    }
+
+    @Test
+    public void existingIssuesOneStatement() throws Exception {
+        assertTrue(userRepository.exists(3));
+        assertFalse(userRepository.exists(7));
+
+        StatementCounts counts = repeatedStatementDetector.count(
+                () -> assertThat(userRepository.existing(Arrays.asList(3, 7, 1)), contains(3, 1)));
+
+        assertThat(counts.getTotal(), is(1));
+    }
+
+    @Test
+    public void entityCacheServesFindOneAndEvictsOnSave() throws Exception {
+        CachedUserRepository repository = cachedUserRepository();
+        Users user = repository.findOne(1);
+        String name = user.getName();
+
+        assertThat(repeatedStatementDetector.count(() -> repository.findOne(1)).getTotal(), is(0));
+        EntityCacheStatistics statistics = repository.getEntityCacheStatistics();
+        assertThat(statistics.getHits(), is(1L));
+        assertThat(statistics.getMisses(), is(1L));
+        user.setName("Cached");
+        try {
+            repository.save(user);
+
+            assertThat(repository.findOne(1).getName(), is("Cached"));
+        } finally {
+            user.setName(name);
+            repository.save(user);
+        }
+    }
+
+    @Test
+    public void entityCacheKeepsEntryOnRollbackAndEvictsOnDelete() throws Exception {
+        CachedUserRepository repository = cachedUserRepository();
+        dsl.insertInto(USERS, USERS.ID, USERS.NAME, USERS.EMAIL).values(411, "Cached", "cached@example.com").execute();
+        try {
+            repository.findOne(411);
+            new TransactionTemplate(transactionManager).execute(status -> {
+                repository.delete(411);
+
+                assertNull(repository.findOne(411));
+                status.setRollbackOnly();
+                return null;
+            });
+            assertThat(repeatedStatementDetector.count(() -> assertNotNull(repository.findOne(411))).getTotal(), is(0));
+
+            assertThat(repository.deleteByEmail("cached@example.com"), is(1L));
+            assertNull(repository.findOne(411));
+        } finally {
+            dsl.deleteFrom(USERS).where(USERS.ID.eq(411)).execute();
+        }
+    }
+
+    @Test
+    public void entityCacheRejectsRecordReadBeforeEviction() throws Exception {
+        JooqEntityCache<UsersRecord> cache = new JooqEntityCache<>("maximumSize=10");
+        long generation = cache.generation(1);
+        cache.evict(1);
+        cache.put(1, dsl.fetchOne(USERS, USERS.ID.eq(1)), generation);
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    public void findByIdProjection() throws Exception {
+        UserName gilles = userRepository.findOne(2, UserName.class);
+
+        assertThat(gilles.getName(), is("Gilles Cornu"));
+    }
+
+    @Test
+    public void findByIdAsync() throws Exception {
+        Users joe = asyncUserRepository.findOne(1).get();
+
+        assertThat("User not found",joe.getId(),is(1));
+
+    }
+
+    @Test
+    public void findAllReactiveOneByOne() throws Exception {
+        assertThat(requestOneByOne(reactiveUserRepository.findAll(new Sort("id"))), contains(1, 2, 3));
+    }
+
+    @Test
+    public void findAllReactiveReadsCursorWithoutAutoCommit() throws Exception {
+        List<Boolean> autoCommits = new CopyOnWriteArrayList<>();
+        DSLContext listened = onExecuteStart(ctx -> autoCommits.add(ctx.connection().getAutoCommit()));
+        ReactiveUserRepository repository = new JooqRepositoryFactory(listened).getRepository(ReactiveUserRepository.class);
+
+        assertThat(requestOneByOne(repository.findAll(new Sort("id"))), contains(1, 2, 3));
+        assertThat(autoCommits, contains(false));
+    }
+
+    @Test
+    public void streamAllAppliesFetchSize() throws Exception {
+        List<Integer> fetchSizes = new CopyOnWriteArrayList<>();
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(onExecuteStart(
+                ctx -> fetchSizes.add(ctx.statement().getFetchSize())));
+        factory.setFetchSize(2);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        UserRepository repository = factory.getRepository(UserRepository.class);
+
+        try (Stream<Users> users = repository.streamAll(new Sort("id"))) {
+            assertThat(users.limit(2).map(Users::getId).collect(Collectors.toList()), contains(1, 2));
+        }
+        try (Stream<Users> users = repository.streamAll(Arrays.asList(3, 1))) {
+            assertThat(users.map(Users::getId).sorted().collect(Collectors.toList()), contains(1, 3));
+        }
+        assertThat(fetchSizes, contains(2, 2));
+    }
+
+    private DSLContext onExecuteStart(ExecuteStartListener listener) {
+        return DSL.using(dsl.configuration().derive(new DefaultExecuteListenerProvider(new DefaultExecuteListener() {
+
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                try {
+                    listener.executeStart(ctx);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        })));
+    }
+
+    private static List<Integer> requestOneByOne(Publisher<Users> users) throws Exception {
+        List<Integer> ids = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        users.subscribe(new Subscriber<Users>() {
+
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Users user) {
+                ids.add(user.getId());
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+        });
+        completed.get();
+        return ids;
+    }
+
+    @Test
+    public void findAllSeekRequestSeeksPastLastKey() throws Exception {
+        SeekSlice<Users> first = userRepository.findAll(new SeekRequest(2, new Sort(Sort.Direction.DESC, "name")));
+
+        assertThat(first.getContent().stream().map(Users::getId).collect(Collectors.toList()), contains(3, 1));
+        assertTrue(first.hasNext());
+        assertThat(first.getLastKey()[1], is((Object) 1));
+
+        AtomicReference<SeekSlice<Users>> next = new AtomicReference<>();
+        StatementCounts counts = repeatedStatementDetector.count(
+                () -> next.set(userRepository.findAll(first.nextRequest())));
+        String select = counts.getShapes().keySet().iterator().next();
+
+        assertThat(counts.getTotal(), is(1));
+        assertFalse(select, select.contains("offset"));
+        assertThat(next.get().getContent().stream().map(Users::getId).collect(Collectors.toList()), contains(2));
+        assertFalse(next.get().hasNext());
+    }
+
+    @Test
+    public void findAllSeekRequestKeepsNullKeys() throws Exception {
+        userRepository.save(Arrays.asList(new Users(141, "No Mail", null), new Users(142, "No Mail", null),
+                new Users(143, "No Mail", null)));
+
+        try {
+            assertThat(seekAll(new Sort(Sort.Direction.DESC, "email")), contains(141, 142, 143, 3, 1, 2));
+            assertThat(seekAll(new Sort(new Sort.Order(Sort.Direction.ASC, "email").nullsFirst())),
+                    contains(141, 142, 143, 2, 1, 3));
+            assertThat(seekAll(new Sort(Sort.Direction.ASC, "email")), contains(2, 1, 3, 141, 142, 143));
+        } finally {
+            userRepository.delete(Arrays.asList(new Users(141, null, null), new Users(142, null, null),
+                    new Users(143, null, null)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void findAllSeekRequestRejectsUnknownSortProperty() throws Exception {
+        userRepository.findAll(new SeekRequest(2, new Sort("nickname")));
+    }
+
+    private List<Integer> seekAll(Sort sort) {
+        List<Integer> ids = new ArrayList<>();
+        SeekRequest request = new SeekRequest(2, sort);
+        while (request != null) {
+            SeekSlice<Users> slice = userRepository.findAll(request);
+            slice.forEach(user -> ids.add(user.getId()));
+            request = slice.nextRequest();
+        }
+        return ids;
+    }
+
+    @Test
+    public void cachedCountIsReusedUntilWrite() throws Exception {
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setCountStrategy(CountStrategy.CACHED);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        UserRepository repository = factory.getRepository(UserRepository.class);
+
+        try {
+            assertThat(counts(() -> assertThat(repository.findAll(new PageRequest(0, 2)).getTotalElements(), is(3L))),
+                    is(1));
+            assertThat(counts(() -> assertThat(repository.findAll(new PageRequest(0, 2)).getTotalElements(), is(3L))),
+                    is(0));
+            repository.save(new Users(131, "Counted", null));
+            assertThat(counts(() -> assertThat(repository.findAll(new PageRequest(0, 2)).getTotalElements(), is(4L))),
+                    is(1));
+            repository.delete(131);
+            assertThat(counts(() -> assertThat(repository.findAll(new PageRequest(0, 2)).getTotalElements(), is(3L))),
+                    is(1));
+        } finally {
+            repository.delete(131);
+        }
+    }
+
+    @Test
+    public void windowCountDependsOnDialect() throws Exception {
+        assertThat(firstPageSql(SQLDialect.FIREBIRD_3_0), containsString("over ()"));
+        assertThat(firstPageSql(SQLDialect.FIREBIRD_2_5), not(containsString("over ()")));
+        assertThat(firstPageSql(SQLDialect.H2), not(containsString("over ()")));
+    }
+
+    private int counts(Runnable action) {
+        return statements(repeatedStatementDetector.count(action), "select count(*)");
+    }
+
+    private String firstPageSql(SQLDialect dialect) {
+        List<String> sql = new CopyOnWriteArrayList<>();
+        DSLContext rendering = DSL.using(dsl.configuration().derive(dialect).derive(
+                new DefaultExecuteListenerProvider(new DefaultExecuteListener() {
+
+                    @Override
+                    public void renderEnd(ExecuteContext ctx) {
+                        sql.add(ctx.sql());
+                        // Other dialects' SQL is only rendered, H2 can't parse it.
+                        throw new IllegalStateException("Rendered only");
+                    }
+                })));
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(rendering);
+        factory.setCountStrategy(CountStrategy.WINDOW);
+
+        try {
+            factory.getRepository(UserRepository.class).findAll(new PageRequest(0, 2));
+            fail("Statement executed");
+        } catch (RuntimeException expected) {
+        }
+        return sql.get(0).toLowerCase();
+    }
+
+    @Test
+    public void findAllPageableMetrics() throws Exception {
+        userRepository.findAll(new PageRequest(0, 2));
+
+        RepositoryMethodStatistics statistics = metricsRegistry.getStatistics(UserRepository.class, "findAll(Pageable)");
+        assertThat(statistics.getInvocations(), is(1L));
+        assertThat(statistics.getStatementSql().length, is(2));
+        assertThat(statistics.getMeanRows(), is(3.0));
+    }
+
+    @Test
+    public void findAllIterableIssuesOneStatement() throws Exception {
+        repeatedStatementDetector.expectAtMost(1, () -> userRepository.findAll(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test
+    public void findAllIterableChunksAndPadsInLists() throws Exception {
+        List<Long> bindValues = new CopyOnWriteArrayList<>();
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(onExecuteStart(
+                ctx -> bindValues.add(ctx.sql().chars().filter(c -> c == '?').count())));
+        factory.setMaxInListSize(4);
+        UserRepository repository = factory.getRepository(UserRepository.class);
+
+        List<Users> users = repository.findAllInIdOrder(Arrays.asList(3, 7, 1, 6, 5, 2, 4));
+
+        assertThat(users.stream().map(Users::getId).collect(Collectors.toList()), contains(3, 1, 2));
+        assertThat(bindValues, contains(4L, 4L));
+    }
+
+    @Test
+    public void fixedShapeStatementsUsePrecompiledSql() throws Exception {
+        List<Query> queries = new CopyOnWriteArrayList<>();
+        UserRepository repository = new JooqRepositoryFactory(onExecuteStart(ctx -> queries.add(ctx.query())))
+                .getRepository(UserRepository.class);
+
+        assertThat(repository.findOne(3).getName(), is("Yusuke Ikeda"));
+        assertTrue(repository.exists(3));
+        assertThat(repository.count(), is(3L));
+        repository.delete(999);
+
+        assertThat(queries.size(), is(4));
+        for (Query query : queries) {
+            assertFalse(query.getSQL(), query instanceof Select || query instanceof Delete);
+        }
+        assertThat(queries.get(0).getSQL(),
+                is(dsl.selectFrom(USERS).where(USERS.ID.eq(DSL.param("ID", Integer.class))).getSQL()));
+    }
+
+    @Test
+    public void derivedQueriesOfFixedShapeBindPrecompiledSql() throws Exception {
+        List<Query> queries = new CopyOnWriteArrayList<>();
+        DerivedUserRepository repository = derivedUserRepository(queries);
+        userRepository.save(Arrays.asList(new Users(151, "Twin", null), new Users(152, "Twin", null)));
+
+        try {
+            assertThat(repository.findByNameIgnoreCase("GILLES cornu").getId(), is(2));
+            assertThat(repository.findTop2ByOrderByIdDesc().stream().map(Users::getId).collect(Collectors.toList()),
+                    contains(152, 151));
+            assertThat(repository.findFirstByOrderByNameAsc().getName(), is("Gilles Cornu"));
+            List<UserName> names = repository.findDistinctByEmailIsNull();
+            assertThat(names.size(), is(1));
+            assertThat(names.get(0).getName(), is("Twin"));
+            try (Stream<Users> users = repository.findByIdBetweenOrderByIdAsc(2, 151)) {
+                assertThat(users.map(Users::getId).collect(Collectors.toList()), contains(2, 3, 151));
+            }
+            assertThat(repository.countByEmailEndingWith("@gmail.com"), is(3L));
+            assertTrue(repository.existsByName("Twin"));
+            assertFalse(repository.existsByName("Nobody"));
+
+            assertThat(queries.size(), is(8));
+            for (Query query : queries) {
+                assertFalse(query.getSQL(), query instanceof Select);
+            }
+            assertThat(queries.get(3).getSQL(), containsString("distinct"));
+        } finally {
+            userRepository.delete(Arrays.asList(new Users(151, null, null), new Users(152, null, null)));
+        }
+    }
+
+    @Test
+    public void derivedQueriesOfDynamicShapeAssembleSqlPerCall() throws Exception {
+        List<Query> queries = new CopyOnWriteArrayList<>();
+        DerivedUserRepository repository = derivedUserRepository(queries);
+        userRepository.save(new Users(161, "No Mail", null));
+
+        try {
+            assertThat(repository.findByEmail(null).getId(), is(161));
+            assertThat(queries.get(0).getSQL(), containsString("is null"));
+            assertThat(repository.findByIdIn(Arrays.asList(1, 3)).stream().map(Users::getId).collect(Collectors.toList()),
+                    containsInAnyOrder(1, 3));
+            assertThat(repository.countByIdIn(Arrays.asList(1, 2, 999)), is(2L));
+            assertFalse(repository.existsByName(null));
+
+            Page<Users> page = repository.findByIdLessThan(161, new PageRequest(0, 2, Sort.Direction.ASC, "id"));
+            assertThat(page.getContent().stream().map(Users::getId).collect(Collectors.toList()), contains(1, 2));
+            assertThat(page.getTotalElements(), is(3L));
+            Slice<Users> slice = repository.findByIdGreaterThan(1, new PageRequest(1, 1, Sort.Direction.ASC, "id"));
+            assertThat(slice.getContent().stream().map(Users::getId).collect(Collectors.toList()), contains(3));
+            assertTrue(slice.hasNext());
+
+            assertThat(queries.size(), is(7));
+            for (Query query : queries) {
+                // fetchCount() executes the dynamic select as a derived table
+                assertTrue(query.getSQL(), query instanceof Select || query.getSQL().contains("from (select"));
+            }
+        } finally {
+            userRepository.delete(161);
+        }
+    }
+
+    @Test
+    public void derivedDeleteReturnsRowCountOrDeletedEntities() throws Exception {
+        DerivedUserRepository repository = derivedUserRepository(new CopyOnWriteArrayList<>());
+        userRepository.save(Arrays.asList(new Users(171, "Deleted", null), new Users(172, "Deleted", null),
+                new Users(173, "Removed", null)));
+
+        try {
+            assertThat(repository.deleteByName("Deleted"), is(2L));
+            assertThat(repository.removeByName("Removed").stream().map(Users::getId).collect(Collectors.toList()),
+                    contains(173));
+            assertThat(repository.deleteByName("Deleted"), is(0L));
+            assertThat(userRepository.count(), is(3L));
+        } finally {
+            userRepository.delete(Arrays.asList(new Users(171, null, null), new Users(172, null, null),
+                    new Users(173, null, null)));
+        }
+    }
+
+    private DerivedUserRepository derivedUserRepository(List<Query> queries) {
+        return new JooqRepositoryFactory(onExecuteStart(ctx -> queries.add(ctx.query())))
+                .getRepository(DerivedUserRepository.class);
+    }
+
+    @Test(expected = RepeatedStatementException.class)
+    public void findOneInLoopWithinTransactionFails() throws Exception {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            for (int id = 1; id <= 3; id++) {
+                userRepository.findOne(id);
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void requiresNewTransactionCountsSeparately() throws Exception {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            userRepository.findOne(1);
+            requiresNew.execute(inner -> userRepository.findOne(2));
+            requiresNew.execute(inner -> userRepository.findOne(3));
+            return null;
+        });
+    }
+
+    @Test
+    public void saveIterableWritesOneBatchPerChunk() throws Exception {
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setBatchSize(2);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        UserRepository repository = factory.getRepository(UserRepository.class);
+        List<Users> users = Arrays.asList(new Users(111, "Batch 1", null), new Users(112, "Batch 2", null),
+                new Users(113, "Batch 3", null), new Users(114, "Batch 4", null), new Users(115, "Batch 5", null));
+
+        try {
+            StatementCounts inserts = repeatedStatementDetector.count(() -> repository.save(users));
+
+            assertThat(statements(inserts, "insert"), is(3));
+            assertThat(repository.count(), is(8L));
+
+            users.forEach(user -> user.setEmail(user.getId() + "@example.com"));
+            StatementCounts updates = repeatedStatementDetector.count(() -> repository.save(users));
+
+            assertThat(statements(updates, "update"), is(3));
+            assertThat(repository.findOne(115).getEmail(), is("115@example.com"));
+        } finally {
+            repository.delete(users);
+        }
+    }
+
+    @Test
+    public void saveIterableSetsGeneratedIds() throws Exception {
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        EventRepository repository = factory.getRepository(EventRepository.class);
+        List<Events> events = Arrays.asList(new Events(null, "Created"), new Events(null, "Updated"),
+                new Events(null, "Deleted"));
+
+        try {
+            StatementCounts counts = repeatedStatementDetector.count(() -> repository.save(events));
+
+            assertThat(statements(counts, "insert"), is(3));
+            for (Events event : events) {
+                assertNotNull(event.getId());
+                assertThat(repository.findOne(event.getId()).getName(), is(event.getName()));
+            }
+        } finally {
+            repository.deleteAll();
+        }
+    }
+
+    @Test
+    public void saveIterableInsertsEntitiesNewByPersistableWithoutLookup() throws Exception {
+        JooqPersistableEntityInformation<AccountsRecord, sample.tables.Accounts, Accounts, Integer> information =
+                new JooqPersistableEntityInformation<>(Accounts.class, ACCOUNTS, dsl);
+        List<Accounts> accounts = Arrays.asList(new Accounts(11, "Assigned 1", null), new Accounts(12, "Assigned 2", null));
+
+        assertTrue(information.isNew(accounts.get(0)));
+        assertFalse(information.isNew(new Accounts(11, "Saved", 1)));
+        try {
+            StatementCounts counts = repeatedStatementDetector.count(() -> accountRepository.save(accounts));
+
+            assertThat(counts.getShapes().toString(), statements(counts, "select"), is(0));
+            assertThat(statements(counts, "insert"), is(1));
+            assertThat(accountRepository.findOne(12).getVersion(), is(1));
+        } finally {
+            accountRepository.deleteAll();
+        }
+    }
+
+    @Test
+    public void purgeDeletesInChunks() throws Exception {
+        userRepository.save(Arrays.asList(new Users(101, "Purge 1", null), new Users(102, "Purge 2", null),
+                new Users(103, "Purge 3", null), new Users(104, "Purge 4", null), new Users(105, "Purge 5", null)));
+        List<PurgeProgress> progress = new CopyOnWriteArrayList<>();
+
+        PurgeProgress result = userRepository.purge(new PurgeRequest(USERS.ID.gt(100))
+                .withChunkSize(2)
+                .withProgressListener(progress::add));
+
+        assertThat(result.getDeleted(), is(5L));
+        assertThat(result.getChunks(), is(3));
+        assertTrue(result.isDone());
+        assertThat(progress.get(0).getLastKey()[0], is(102));
+        assertThat(userRepository.count(), is(3L));
+    }
+
+    @Test
+    public void deleteAllRollsBackWithSurroundingTransaction() throws Exception {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            userRepository.deleteAll();
+
+            assertThat(userRepository.count(), is(0L));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(userRepository.count(), is(3L));
+    }
+
+    @Test
+    public void snapshotSaveUpdatesChangedColumnsOnly() throws Exception {
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setSaveMode(SaveMode.SNAPSHOT);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        UserRepository repository = factory.getRepository(UserRepository.class);
+        Users user = repository.findOne(3);
+        String name = user.getName();
+
+        assertThat(repeatedStatementDetector.count(() -> repository.save(user)).getTotal(), is(0));
+        user.setName("Renamed");
+        try {
+            StatementCounts counts = repeatedStatementDetector.count(() -> repository.save(user));
+
+            assertThat(counts.getTotal(), is(1));
+            String update = counts.getShapes().keySet().iterator().next();
+            assertTrue(update, update.contains("NAME") && !update.contains("EMAIL"));
+        } finally {
+            user.setName(name);
+            repository.save(user);
+        }
+    }
+
+    @Test
+    public void updateOrInsertSaveUpdatesWithoutLookup() throws Exception {
+        UserRepository repository = userRepository(SaveMode.UPDATE_OR_INSERT);
+        Users existing = repository.findOne(3);
+        String name = existing.getName();
+        existing.setName("Updated in place");
+
+        try {
+            StatementCounts update = repeatedStatementDetector.count(() -> repository.save(existing));
+            StatementCounts insert = repeatedStatementDetector.count(() -> repository.save(new Users(121, "Inserted", null)));
+
+            assertThat(update.getShapes().toString(), update.getTotal(), is(1));
+            assertThat(statements(update, "update"), is(1));
+            assertThat(statements(insert, "update"), is(1));
+            assertThat(statements(insert, "insert"), is(1));
+            assertThat(repository.findOne(3).getName(), is("Updated in place"));
+            assertThat(repository.findOne(121).getName(), is("Inserted"));
+        } finally {
+            existing.setName(name);
+            repository.save(existing);
+            repository.delete(121);
+        }
+    }
+
+    @Test
+    public void upsertSaveIssuesSingleStatement() throws Exception {
+        UserRepository repository = userRepository(SaveMode.UPSERT);
+        Users existing = repository.findOne(3);
+        String name = existing.getName();
+        existing.setName("Upserted");
+
+        try {
+            StatementCounts update = repeatedStatementDetector.count(() -> repository.save(existing));
+            StatementCounts insert = repeatedStatementDetector.count(() -> repository.save(new Users(122, "Upserted", null)));
+
+            assertThat(update.getShapes().toString(), update.getTotal(), is(1));
+            assertThat(insert.getShapes().toString(), insert.getTotal(), is(1));
+            assertThat(repository.findOne(3).getName(), is("Upserted"));
+            assertThat(repository.findOne(122).getName(), is("Upserted"));
+        } finally {
+            existing.setName(name);
+            repository.save(existing);
+            repository.delete(122);
+        }
+    }
+
+    @Test
+    public void snapshotSaveRetriesUpdateRolledBack() throws Exception {
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setSaveMode(SaveMode.SNAPSHOT);
+        UserRepository repository = factory.getRepository(UserRepository.class);
+        Users user = repository.findOne(3);
+        String name = user.getName();
+        user.setName("Rolled back");
+
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> {
+                repository.save(user);
+                status.setRollbackOnly();
+                return null;
+            });
+            repository.save(user);
+
+            assertThat(dsl.select(USERS.NAME).from(USERS).where(USERS.ID.eq(3)).fetchOne(USERS.NAME), is("Rolled back"));
+        } finally {
+            user.setName(name);
+            repository.save(user);
+        }
+    }
+
+    @Test
+    public void saveChecksVersionInUpdate() throws Exception {
+        Accounts account = accountRepository.save(new Accounts(1, "Checking", null));
+        Accounts stale = accountRepository.findOne(1);
+        account.setName("Savings");
+
+        try {
+            assertThat(repeatedStatementDetector.count(() -> accountRepository.save(account)).getTotal(), is(1));
+            assertThat(account.getVersion(), is(2));
+            stale.setName("Stale");
+            try {
+                accountRepository.save(Arrays.asList(account, stale));
+                fail("Stale account saved");
+            } catch (OptimisticLockingFailureException expected) {
+            }
+            assertThat(accountRepository.findOne(1).getName(), is("Savings"));
+        } finally {
+            accountRepository.deleteAll();
+        }
+    }
+
+    @Test
+    public void loadSkipsDuplicates() throws Exception {
+        LoadOptions options = new LoadOptions().withBulkSize(2).withBatchSize(1).withCommitSize(1);
+
+        try {
+            LoadResult loaded = userRepository.load(Arrays.asList(new Users(201, "Load 1", null),
+                    new Users(202, "Load 2", null), new Users(203, "Load 3", null)).iterator(), options);
+            LoadResult csv = userRepository.loadCsv(new StringReader("id,name,email\n203,Load 3,\n204,Load 4,load4@example.com"),
+                    options.withOnDuplicate(LoadOptions.OnDuplicate.IGNORE));
+
+            assertThat(loaded.getStored(), is(3));
+            assertThat(csv.getProcessed(), is(2));
+            assertThat(csv.getStored(), is(1));
+            assertThat(csv.getIgnored(), is(1));
+            assertThat(userRepository.findOne(204).getEmail(), is("load4@example.com"));
+        } finally {
+            userRepository.purge(new PurgeRequest(USERS.ID.gt(200)));
+        }
+    }
+
+    @Test
+    public void loadJoinsSurroundingTransaction() throws Exception {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            LoadResult loaded = userRepository.load(Arrays.asList(new Users(211, "Load 11", null),
+                    new Users(212, "Load 12", null)).iterator(), new LoadOptions().withCommitSize(1));
+
+            assertThat(loaded.getStored(), is(2));
+            assertTrue(userRepository.exists(212));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertFalse(userRepository.exists(211));
+        assertFalse(userRepository.exists(212));
+    }
+
+    @Test
+    public void readsGoToReplicaUnlessJustWritten() throws Exception {
+        EmbeddedDatabase replicaDatabase = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("db/sql/create-db.sql")
+                .build();
+        try {
+            DSLContext replica = DSL.using(replicaDatabase, SQLDialect.H2);
+            replica.insertInto(USERS, USERS.ID, USERS.NAME).values(1, "Replica").execute();
+            JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+            factory.setReadReplicas(new ReadReplicas(replica));
+            UserRepository repository = factory.getRepository(UserRepository.class);
+
+            assertThat(repository.findOne(1).getName(), is("Replica"));
+            repository.save(new Users(201, "Written", null));
+            assertThat(repository.findOne(201).getName(), is("Written"));
+            repository.delete(201);
+        } finally {
+            replicaDatabase.shutdown();
+        }
+    }
+
+    @Test
+    public void replicaReadsDontHoldPrimaryConnection() throws Exception {
+        EmbeddedDatabase replicaDatabase = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("db/sql/create-db.sql")
+                .build();
+        try {
+            DSLContext replica = DSL.using(replicaDatabase, SQLDialect.H2);
+            replica.insertInto(USERS, USERS.ID, USERS.NAME).values(1, "Replica").execute();
+            AtomicInteger primaryConnections = new AtomicInteger();
+            DataSource primary = new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    primaryConnections.incrementAndGet();
+                    return super.getConnection();
+                }
+            };
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.registerSingleton("transactionManager", new DataSourceTransactionManager(primary));
+            JooqRepositoryFactoryBean<UserRepository, Users, Integer> factoryBean =
+                    new JooqRepositoryFactoryBean<>(UserRepository.class);
+            factoryBean.setDslContext(DSL.using(new TransactionAwareDataSourceProxy(primary), SQLDialect.H2));
+            factoryBean.setReadReplicas(new ReadReplicas(replica));
+            factoryBean.setBeanFactory(beanFactory);
+            factoryBean.afterPropertiesSet();
+            UserRepository repository = factoryBean.getObject();
+
+            assertThat(repository.findOne(1).getName(), is("Replica"));
+            assertThat(primaryConnections.get(), is(0));
+            new TransactionTemplate(beanFactory.getBean(PlatformTransactionManager.class)).execute(status -> {
+                assertThat(repository.findOne(2).getName(), is("Gilles Cornu"));
+                return null;
+            });
+            assertThat(primaryConnections.get(), is(1));
+        } finally {
+            replicaDatabase.shutdown();
+        }
+    }
+
+    @Test
+    public void writeBehindBatchesWritesUntilTableIsRead() throws Exception {
+        WriteBehindBuffer buffer = new WriteBehindBuffer();
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setWriteBehindBuffer(buffer);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        UserRepository repository = factory.getRepository(UserRepository.class);
+
+        try {
+            StatementCounts counts = repeatedStatementDetector.count(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                repository.save(Arrays.asList(new Users(301, "Behind 1", null), new Users(302, "Behind 2", null),
+                        new Users(303, "Behind 3", null)));
+                repository.delete(303);
+                assertThat(buffer.getPendingCount(), is(4));
+                assertThat(repository.findOne(302).getName(), is("Behind 2"));
+                repository.save(new Users(301, "Behind 1 renamed", null));
+                return null;
+            }));
+
+            assertThat(counts.getTotal(), is(5));
+            assertThat(userRepository.findOne(301).getName(), is("Behind 1 renamed"));
+            assertFalse(userRepository.exists(303));
+        } finally {
+            userRepository.purge(new PurgeRequest(USERS.ID.gt(300)));
+        }
+    }
+
+    @Test
+    public void derivedDeleteGoesToPrimary() throws Exception {
+        EmbeddedDatabase replicaDatabase = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("db/sql/create-db.sql")
+                .build();
+        try {
+            DSLContext replica = DSL.using(replicaDatabase, SQLDialect.H2);
+            replica.insertInto(USERS, USERS.ID, USERS.NAME).values(401, "Replica").execute();
+            dsl.insertInto(USERS, USERS.ID, USERS.NAME, USERS.EMAIL).values(401, "Primary", "delete@example.com").execute();
+            JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+            factory.setReadReplicas(new ReadReplicas(replica));
+            UserRepository repository = factory.getRepository(UserRepository.class);
+
+            assertThat(repository.deleteByEmail("delete@example.com"), is(1L));
+            assertNull(repository.findOne(401));
+        } finally {
+            dsl.deleteFrom(USERS).where(USERS.ID.eq(401)).execute();
+            replicaDatabase.shutdown();
+        }
+    }
+
+    @Test
+    public void entityRegistryResolvesDomainClassOnce() throws Exception {
+        JooqEntityRegistry registry = new JooqEntityRegistry();
+
+        assertSame(registry.getEntityInformation(Users.class, dsl), registry.getEntityInformation(Users.class, dsl));
+        assertSame(USERS, registry.getEntityInformation(Users.class, dsl).table());
+    }
+
+    @Test
+    public void generatedMapperMapsLikeDefaultRecordMapper() {
+        assertMapsLikeDefaultRecordMapper(Users.class, true,
+                user -> Arrays.asList(user.getId(), user.getName(), user.getEmail()));
+        assertMapsLikeDefaultRecordMapper(ColumnUser.class, true,
+                user -> Arrays.asList(user.getId(), user.getFullName(), user.getContact()));
+    }
+
+    @Test
+    public void entityWrittenBeyondSettersFallsBackToDefaultRecordMapper() {
+        assertMapsLikeDefaultRecordMapper(MemberUser.class, false,
+                user -> Arrays.asList(user.getId(), user.getName(), user.email));
+    }
+
+    private <E extends Persistable<Integer>> void assertMapsLikeDefaultRecordMapper(Class<E> domainClass,
+            boolean generated, Function<E, List<Object>> values) {
+        RecordMapper<UsersRecord, E> mapper = new JooqPersistableEntityInformation<UsersRecord, sample.tables.Users, E,
+                Integer>(domainClass, USERS, dsl).mapper();
+        RecordMapper<UsersRecord, E> reference = new DefaultRecordMapper<>(USERS.recordType(), domainClass);
+
+        assertThat(mapper instanceof DefaultRecordMapper, is(!generated));
+        for (UsersRecord record : dsl.selectFrom(USERS).orderBy(USERS.ID).fetch()) {
+            List<Object> mapped = values.apply(mapper.map(record));
+            assertFalse(mapped.contains(null));
+            assertEquals(values.apply(reference.map(record)), mapped);
+        }
+    }
+
+    private static int statements(StatementCounts counts, String verb) {
+        return counts.getShapes().entrySet().stream()
+                .filter(shape -> shape.getKey().startsWith(verb))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    private UserRepository userRepository(SaveMode saveMode) {
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setSaveMode(saveMode);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        return factory.getRepository(UserRepository.class);
+    }
+
+    @Test
+    public void lazyAndBackgroundBootstrapExposeProxies() throws Exception {
+        for (Class<?> configuration : Arrays.asList(LazyBootstrapConfig.class, BackgroundBootstrapConfig.class)) {
+            try (AnnotationConfigApplicationContext bootstrapped = new AnnotationConfigApplicationContext()) {
+                bootstrapped.setParent(context);
+                bootstrapped.register(configuration);
+                bootstrapped.refresh();
+                UserRepository repository = bootstrapped.getBean(UserRepository.class);
+
+                assertTrue(configuration.getSimpleName(), AopUtils.isAopProxy(repository));
+                assertFalse(configuration.getSimpleName(), ((Advised) repository).getTargetSource().isStatic());
+                assertThat(repository.findOne(3).getName(), is("Yusuke Ikeda"));
+            }
+        }
+    }
+
+    private CachedUserRepository cachedUserRepository() {
+        JooqRepositoryFactory factory = new JooqRepositoryFactory(dsl);
+        factory.setRepeatedStatementDetector(repeatedStatementDetector);
+        return factory.getRepository(CachedUserRepository.class);
+    }
+
+    @Configuration
+    @EnableJooqRepositories(basePackageClasses = UserRepository.class, bootstrapMode = BootstrapMode.LAZY)
+    static class LazyBootstrapConfig {
+    }
+
+    @Configuration
+    @EnableJooqRepositories(basePackageClasses = UserRepository.class, bootstrapMode = BootstrapMode.BACKGROUND)
+    static class BackgroundBootstrapConfig {
+    }
+
+    interface ExecuteStartListener {
+
+        void executeStart(ExecuteContext ctx) throws SQLException;
+    }
+
+    interface EventRepository extends JooqRepository<Events, Integer> {
+    }
+
+    interface DerivedUserRepository extends JooqRepository<Users, Integer> {
+
+        Users findByEmail(String email);
+
+        Users findByNameIgnoreCase(String name);
+
+        List<Users> findByIdIn(Collection<Integer> ids);
+
+        List<Users> findTop2ByOrderByIdDesc();
+
+        Users findFirstByOrderByNameAsc();
+
+        List<UserName> findDistinctByEmailIsNull();
+
+        Stream<Users> findByIdBetweenOrderByIdAsc(Integer from, Integer to);
+
+        Page<Users> findByIdLessThan(Integer id, Pageable pageable);
+
+        Slice<Users> findByIdGreaterThan(Integer id, Pageable pageable);
+
+        long countByEmailEndingWith(String suffix);
+
+        long countByIdIn(Collection<Integer> ids);
+
+        boolean existsByName(String name);
+
+        long deleteByName(String name);
+
+        List<Users> removeByName(String name);
+    }
+
+    @EntityCache
+    interface CachedUserRepository extends JooqRepository<Users, Integer> {
+
+        long deleteByEmail(String email);
+    }
+
+    interface UserName {
+
+        String getName();
+    }
+
+    public static class ColumnUser implements Persistable<Integer> {
+
+        @Column(name = "ID")
+        private Integer id;
+        @Column(name = "NAME")
+        private String fullName;
+        @Column(name = "EMAIL")
+        private String contact;
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+
+        public void setFullName(String fullName) {
+            this.fullName = fullName;
+        }
+
+        public String getContact() {
+            return contact;
+        }
+
+        public void setContact(String contact) {
+            this.contact = contact;
+        }
+
+        @Override
+        public boolean isNew() {
+            return id == null;
+        }
+    }
+
+    public static class MemberUser implements Persistable<Integer> {
+
+        public String email;
+        private Integer id;
+        private String name;
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean isNew() {
+            return id == null;
+        }
+    }
 }
\ No newline at end of file
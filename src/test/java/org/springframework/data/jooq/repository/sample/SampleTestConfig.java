@@ -1,9 +1,23 @@
 package org.springframework.data.jooq.repository.sample;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jooq.repository.config.EnableJooqRepositories;
+import org.springframework.data.jooq.repository.metrics.JmxRepositoryMetricsRegistry;
+import org.springframework.data.jooq.repository.metrics.RepeatedStatementDetector;
 
-@EnableJooqRepositories(basePackageClasses = UserRepository.class)
+@EnableJooqRepositories(basePackageClasses = UserRepository.class, metricsRegistryRef = "metricsRegistry",
+        repeatedStatementDetectorRef = "repeatedStatementDetector")
 @Configuration
 public class SampleTestConfig {
-}
+
+    @Bean(destroyMethod = "destroy")
+    public JmxRepositoryMetricsRegistry metricsRegistry() {
+        return new JmxRepositoryMetricsRegistry();
+    }
+
+    @Bean
+    public RepeatedStatementDetector repeatedStatementDetector() {
+        return new RepeatedStatementDetector(2, RepeatedStatementDetector.Mode.FAIL);
+    }
+}
\ No newline at end of file
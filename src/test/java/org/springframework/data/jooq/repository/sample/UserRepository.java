@@ -6,4 +6,8 @@ import sample.tables.pojos.Users;
 
 @Repository
 public interface UserRepository extends JooqRepository<Users, Integer> {
+
+    Users findByEmail(String email);
+
+    long deleteByEmail(String email);
 }
@@ -6,10 +6,15 @@ package sample;
 
 import javax.annotation.Generated;
 
+import org.jooq.Identity;
 import org.jooq.UniqueKey;
 import org.jooq.impl.AbstractKeys;
 
+import sample.tables.Accounts;
+import sample.tables.Events;
 import sample.tables.Users;
+import sample.tables.records.AccountsRecord;
+import sample.tables.records.EventsRecord;
 import sample.tables.records.UsersRecord;
 
 
@@ -31,11 +36,14 @@ public class Keys {
     // IDENTITY definitions
     // -------------------------------------------------------------------------
 
+    public static final Identity<EventsRecord, Integer> IDENTITY_EVENTS = Identities0.IDENTITY_EVENTS;
 
     // -------------------------------------------------------------------------
     // UNIQUE and PRIMARY KEY definitions
     // -------------------------------------------------------------------------
 
+    public static final UniqueKey<AccountsRecord> CONSTRAINT_A = UniqueKeys0.CONSTRAINT_A;
+    public static final UniqueKey<EventsRecord> CONSTRAINT_7 = UniqueKeys0.CONSTRAINT_7;
     public static final UniqueKey<UsersRecord> CONSTRAINT_4 = UniqueKeys0.CONSTRAINT_4;
 
     // -------------------------------------------------------------------------
@@ -47,7 +55,13 @@ public class Keys {
     // [#1459] distribute members to avoid static initialisers > 64kb
     // -------------------------------------------------------------------------
 
+    private static class Identities0 extends AbstractKeys {
+        public static Identity<EventsRecord, Integer> IDENTITY_EVENTS = createIdentity(Events.EVENTS, Events.EVENTS.ID);
+    }
+
     private static class UniqueKeys0 extends AbstractKeys {
+        public static final UniqueKey<AccountsRecord> CONSTRAINT_A = createUniqueKey(Accounts.ACCOUNTS, "CONSTRAINT_A", Accounts.ACCOUNTS.ID);
+        public static final UniqueKey<EventsRecord> CONSTRAINT_7 = createUniqueKey(Events.EVENTS, "CONSTRAINT_7", Events.EVENTS.ID);
         public static final UniqueKey<UsersRecord> CONSTRAINT_4 = createUniqueKey(Users.USERS, "CONSTRAINT_4", Users.USERS.ID);
     }
 }
@@ -14,6 +14,8 @@ import org.jooq.Catalog;
 import org.jooq.Table;
 import org.jooq.impl.SchemaImpl;
 
+import sample.tables.Accounts;
+import sample.tables.Events;
 import sample.tables.Users;
 
 
@@ -37,6 +39,16 @@ public class Public extends SchemaImpl {
      */
     public static final Public PUBLIC = new Public();
 
+    /**
+     * The table <code>PUBLIC.ACCOUNTS</code>.
+     */
+    public final Accounts ACCOUNTS = sample.tables.Accounts.ACCOUNTS;
+
+    /**
+     * The table <code>PUBLIC.EVENTS</code>.
+     */
+    public final Events EVENTS = sample.tables.Events.EVENTS;
+
     /**
      * The table <code>PUBLIC.USERS</code>.
      */
@@ -67,6 +79,8 @@ public class Public extends SchemaImpl {
 
     private final List<Table<?>> getTables0() {
         return Arrays.<Table<?>>asList(
+            Accounts.ACCOUNTS,
+            Events.EVENTS,
             Users.USERS);
     }
 }
@@ -6,6 +6,8 @@ package sample;
 
 import javax.annotation.Generated;
 
+import sample.tables.Accounts;
+import sample.tables.Events;
 import sample.tables.Users;
 
 
@@ -22,6 +24,16 @@ import sample.tables.Users;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class Tables {
 
+    /**
+     * The table <code>PUBLIC.ACCOUNTS</code>.
+     */
+    public static final Accounts ACCOUNTS = sample.tables.Accounts.ACCOUNTS;
+
+    /**
+     * The table <code>PUBLIC.EVENTS</code>.
+     */
+    public static final Events EVENTS = sample.tables.Events.EVENTS;
+
     /**
      * The table <code>PUBLIC.USERS</code>.
      */
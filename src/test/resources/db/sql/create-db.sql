@@ -2,4 +2,15 @@ CREATE TABLE users (
   id    INTEGER PRIMARY KEY,
   name  VARCHAR(30),
   email VARCHAR(50)
-);
\ No newline at end of file
+);
+
+CREATE TABLE accounts (
+  id      INTEGER PRIMARY KEY,
+  name    VARCHAR(30),
+  version INTEGER
+);
+
+CREATE TABLE events (
+  id   INTEGER AUTO_INCREMENT PRIMARY KEY,
+  name VARCHAR(30)
+);